@@ -0,0 +1,103 @@
+package com.reactnativekalturaplayer
+
+import com.kaltura.playkit.PKLog
+import com.kaltura.playkit.player.ABRSettings
+import com.kaltura.tvplayer.KalturaPlayer
+
+/**
+ * Combines the ABR settings passed by the app with the caps of the native
+ * helpers (bandwidth, view size, network etc.). Every helper sets its own
+ * named cap and the lowest cap wins. Player is updated only if the combined
+ * settings have changed.
+ *
+ * All the methods should be called on the main thread.
+ */
+class AbrConstraints {
+
+    private val log = PKLog.get(AbrConstraints::class.java.simpleName)
+
+    class Cap(val maxVideoBitrate: Long = NO_LIMIT, val maxVideoWidth: Long = NO_LIMIT, val maxVideoHeight: Long = NO_LIMIT)
+
+    private var appAbrSettings: ABRSettings? = null
+    private var initialBitrateEstimate = 0L
+    private val caps = LinkedHashMap<String, Cap>()
+    private var appliedSignature: String? = null
+
+    /**
+     * ABR settings passed by the app, `null` resets them
+     */
+    fun setAppAbrSettings(abrSettings: ABRSettings?) {
+        appAbrSettings = abrSettings
+    }
+
+    /**
+     * Used unless the app has passed its own initial bitrate estimate, `0` removes it
+     */
+    fun setInitialBitrateEstimate(bitrateEstimate: Long) {
+        initialBitrateEstimate = bitrateEstimate.coerceAtLeast(0L)
+    }
+
+    fun setCap(source: String, cap: Cap?) {
+        if (cap == null) {
+            caps.remove(source)
+        } else {
+            caps[source] = cap
+        }
+    }
+
+    fun getCap(source: String): Cap? {
+        return caps[source]
+    }
+
+    /**
+     * @param force apply even if nothing has changed, e.g. player has been swapped
+     */
+    fun apply(player: KalturaPlayer?, force: Boolean = false) {
+        player ?: return
+
+        val appSettings = appAbrSettings
+        var maxVideoBitrate = appSettings?.maxVideoBitrate ?: NO_LIMIT
+        var maxVideoWidth = appSettings?.maxVideoWidth ?: NO_LIMIT
+        var maxVideoHeight = appSettings?.maxVideoHeight ?: NO_LIMIT
+        for (cap in caps.values) {
+            maxVideoBitrate = minOf(maxVideoBitrate, cap.maxVideoBitrate)
+            maxVideoWidth = minOf(maxVideoWidth, cap.maxVideoWidth)
+            maxVideoHeight = minOf(maxVideoHeight, cap.maxVideoHeight)
+        }
+
+        val appBitrateEstimate = appSettings?.initialBitrateEstimate ?: 0L
+        val bitrateEstimate = if (appBitrateEstimate > 0) appBitrateEstimate else initialBitrateEstimate
+
+        val signature = "${appSettings?.hashCode()}|$maxVideoBitrate|$maxVideoWidth|$maxVideoHeight|$bitrateEstimate"
+        if (!force && signature == appliedSignature) {
+            return
+        }
+        appliedSignature = signature
+
+        if (appSettings == null && bitrateEstimate == 0L &&
+            maxVideoBitrate == NO_LIMIT && maxVideoWidth == NO_LIMIT && maxVideoHeight == NO_LIMIT) {
+            log.d("Resetting the ABR settings")
+            player.resetABRSettings()
+            return
+        }
+
+        val abrSettings = ABRSettings()
+        appSettings?.let {
+            abrSettings.setMinVideoBitrate(it.minVideoBitrate)
+            abrSettings.setMinVideoWidth(it.minVideoWidth)
+            abrSettings.setMinVideoHeight(it.minVideoHeight)
+        }
+        if (bitrateEstimate > 0) {
+            abrSettings.setInitialBitrateEstimate(bitrateEstimate)
+        }
+        abrSettings.setMaxVideoBitrate(maxVideoBitrate)
+        abrSettings.setMaxVideoWidth(maxVideoWidth)
+        abrSettings.setMaxVideoHeight(maxVideoHeight)
+        log.d("Updating the ABR settings maxVideoBitrate: $maxVideoBitrate maxVideoWidth: $maxVideoWidth maxVideoHeight: $maxVideoHeight caps: ${caps.keys}")
+        player.updateABRSettings(abrSettings)
+    }
+
+    companion object {
+        const val NO_LIMIT = Long.MAX_VALUE
+    }
+}
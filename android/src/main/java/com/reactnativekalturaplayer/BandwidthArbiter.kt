@@ -0,0 +1,157 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+
+/**
+ * Process wide arbiter of the link bandwidth between the concurrent players
+ * and the prefetchers.
+ *
+ * Link throughput is measured from the loaded chunks of all the players.
+ * Foreground player is never capped, [foregroundShare] of the throughput is
+ * left for it and the rest is split between the lower priority participants
+ * by their weight. Prefetchers get less concurrent requests once the
+ * background budget is low.
+ *
+ * All the methods should be called on the main thread.
+ */
+object BandwidthArbiter {
+
+    private val log = PKLog.get(BandwidthArbiter::class.java.simpleName)
+
+    class Participant internal constructor(
+        val name: String,
+        priority: DecoderBudgetManager.Priority,
+        private val onBitrateCapChanged: (maxVideoBitrate: Long) -> Unit
+    ) {
+        var priority = priority
+            internal set
+        var bitrateCap = AbrConstraints.NO_LIMIT
+            private set
+
+        internal fun updateBitrateCap(cap: Long) {
+            val isChanged = if (cap == AbrConstraints.NO_LIMIT || bitrateCap == AbrConstraints.NO_LIMIT) {
+                cap != bitrateCap
+            } else {
+                Math.abs(cap - bitrateCap) > bitrateCap * CAP_CHANGE_THRESHOLD
+            }
+            if (isChanged) {
+                bitrateCap = cap
+                onBitrateCapChanged(cap)
+            }
+        }
+    }
+
+    private const val MIN_SAMPLE_BYTES = 20 * 1024L
+    private const val SAMPLE_WEIGHT = 0.2
+    private const val RECOMPUTE_INTERVAL_MS = 2000L
+    private const val CAP_CHANGE_THRESHOLD = 0.1
+    private const val MIN_BACKGROUND_BITRATE = 150_000L
+    private const val DEFAULT_BACKGROUND_BITRATE = 400_000L
+    private const val LOW_BACKGROUND_BUDGET = 500_000L
+    private const val DEFAULT_MAX_PREFETCH_REQUESTS = 2
+
+    private val participants = ArrayList<Participant>()
+    private var lastRecomputeAtMs = 0L
+
+    /**
+     * Share of the throughput which is left for the foreground player
+     */
+    var foregroundShare = 0.75
+        set(value) {
+            field = value.coerceIn(0.0, 1.0)
+            recompute()
+        }
+
+    /**
+     * Smoothed link throughput in bits per second, `0` until measured
+     */
+    var estimatedThroughputBps = 0L
+        private set
+
+    /**
+     * Max concurrent prefetch requests allowed by the current background budget
+     */
+    var maxPrefetchRequests = DEFAULT_MAX_PREFETCH_REQUESTS
+        private set
+
+    fun register(
+        name: String,
+        priority: DecoderBudgetManager.Priority,
+        onBitrateCapChanged: (maxVideoBitrate: Long) -> Unit
+    ): Participant {
+        val participant = Participant(name, priority, onBitrateCapChanged)
+        participants.add(participant)
+        recompute()
+        return participant
+    }
+
+    fun unregister(participant: Participant?) {
+        if (participant != null && participants.remove(participant)) {
+            recompute()
+        }
+    }
+
+    fun updatePriority(participant: Participant?, priority: DecoderBudgetManager.Priority) {
+        participant ?: return
+        participant.priority = priority
+        recompute()
+    }
+
+    /**
+     * Throughput sample of a loaded chunk by any of the players
+     */
+    fun onBytesLoaded(bytesLoaded: Long, loadDurationMs: Long) {
+        if (bytesLoaded < MIN_SAMPLE_BYTES || loadDurationMs <= 0) {
+            return
+        }
+
+        val sampleBps = bytesLoaded * 8 * 1000 / loadDurationMs
+        estimatedThroughputBps = if (estimatedThroughputBps == 0L) {
+            sampleBps
+        } else {
+            (SAMPLE_WEIGHT * sampleBps + (1 - SAMPLE_WEIGHT) * estimatedThroughputBps).toLong()
+        }
+
+        if (SystemClock.elapsedRealtime() - lastRecomputeAtMs >= RECOMPUTE_INTERVAL_MS) {
+            recompute()
+        }
+    }
+
+    private fun recompute() {
+        lastRecomputeAtMs = SystemClock.elapsedRealtime()
+
+        val hasForeground = participants.any { it.priority == DecoderBudgetManager.Priority.FOREGROUND }
+        val backgroundParticipants = participants.filter { it.priority != DecoderBudgetManager.Priority.FOREGROUND }
+        val backgroundBudget = when {
+            estimatedThroughputBps == 0L -> DEFAULT_BACKGROUND_BITRATE * backgroundParticipants.size
+            hasForeground -> (estimatedThroughputBps * (1 - foregroundShare)).toLong()
+            else -> estimatedThroughputBps
+        }
+
+        maxPrefetchRequests = if (hasForeground && estimatedThroughputBps > 0 && backgroundBudget < LOW_BACKGROUND_BUDGET) {
+            1
+        } else {
+            DEFAULT_MAX_PREFETCH_REQUESTS
+        }
+
+        val totalWeight = backgroundParticipants.sumOf { getWeight(it.priority) }
+        for (participant in participants) {
+            if (participant.priority == DecoderBudgetManager.Priority.FOREGROUND) {
+                participant.updateBitrateCap(AbrConstraints.NO_LIMIT)
+            } else {
+                val cap = backgroundBudget * getWeight(participant.priority) / totalWeight
+                participant.updateBitrateCap(cap.coerceAtLeast(MIN_BACKGROUND_BITRATE))
+            }
+        }
+
+        log.v("throughput: $estimatedThroughputBps backgroundBudget: $backgroundBudget participants: ${participants.size}")
+    }
+
+    private fun getWeight(priority: DecoderBudgetManager.Priority): Long {
+        return when (priority) {
+            DecoderBudgetManager.Priority.PREVIEW -> 2
+            else -> 1
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.reactnativekalturaplayer
+
+import android.content.Context
+import com.kaltura.playkit.PKLog
+
+/**
+ * Persists the measured link throughput per network type so that the next
+ * session starts the ABR from it instead of the default initial bitrate.
+ *
+ * Stored estimate is halved for every [HALF_LIFE_MS] of its age and it is
+ * ignored after [MAX_AGE_MS], network conditions change over time.
+ */
+class BandwidthEstimateStore(context: Context) {
+
+    private val log = PKLog.get(BandwidthEstimateStore::class.java.simpleName)
+    private val appContext = context.applicationContext
+    private val preferences = appContext.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE)
+    private var lastSavedAtMs = 0L
+
+    /**
+     * Decayed estimate in bits per second for the current network type, `0` if there is none
+     */
+    fun getEstimate(): Long {
+        val networkType = NetworkMonitor.getNetworkType(appContext)
+        val estimate = preferences.getLong(KEY_ESTIMATE_PREFIX + networkType, 0L)
+        val savedAtMs = preferences.getLong(KEY_SAVED_AT_PREFIX + networkType, 0L)
+        val ageMs = System.currentTimeMillis() - savedAtMs
+        if (estimate <= 0 || ageMs < 0 || ageMs > MAX_AGE_MS) {
+            return 0L
+        }
+        return (estimate * Math.pow(0.5, ageMs.toDouble() / HALF_LIFE_MS)).toLong()
+    }
+
+    /**
+     * Save the estimate for the current network type
+     *
+     * @param force save even if the estimate was saved less than [SAVE_INTERVAL_MS] ago
+     */
+    fun save(estimateBps: Long, force: Boolean = false) {
+        val nowMs = System.currentTimeMillis()
+        if (estimateBps <= 0 || (!force && nowMs - lastSavedAtMs < SAVE_INTERVAL_MS)) {
+            return
+        }
+        lastSavedAtMs = nowMs
+        val networkType = NetworkMonitor.getNetworkType(appContext)
+        log.v("Saving the bandwidth estimate $estimateBps for $networkType")
+        preferences.edit()
+            .putLong(KEY_ESTIMATE_PREFIX + networkType, estimateBps)
+            .putLong(KEY_SAVED_AT_PREFIX + networkType, nowMs)
+            .apply()
+    }
+
+    companion object {
+        private const val PREFERENCES_NAME = "kaltura_player_rn_bandwidth"
+        private const val KEY_ESTIMATE_PREFIX = "estimate_"
+        private const val KEY_SAVED_AT_PREFIX = "savedAt_"
+        private const val SAVE_INTERVAL_MS = 30_000L
+        private const val HALF_LIFE_MS = 24 * 60 * 60 * 1000L
+        private const val MAX_AGE_MS = 7 * HALF_LIFE_MS
+    }
+}
@@ -0,0 +1,186 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+
+/**
+ * Buffer ahead of the playhead and its trend, from the playhead updates.
+ *
+ * Fill rate is how fast the buffered position moves and drain rate is how
+ * fast the playhead moves, both in media time per wall time. Buffered position
+ * moves a segment at a time and the loader may idle while the buffer ahead is
+ * above `minBufferMs` of the player, so the trend starts once the buffer ahead
+ * is below it and the rates are trusted once the window covers a segment.
+ *
+ * A stall is predicted once the buffer ahead runs out within [stallHorizonMs]
+ * at the current rates. Video bitrate is then capped below the current one
+ * before the stall happens, the cap is lifted once the buffer has recovered
+ * above `minBufferMs`.
+ *
+ * All the methods should be called on the main thread.
+ */
+class BufferHealthMonitor(
+    private val host: Host,
+    private val clock: () -> Long = SystemClock::elapsedRealtime
+) {
+
+    interface Host {
+        /**
+         * @param maxVideoBitrate [AbrConstraints.NO_LIMIT] lifts the cap
+         */
+        fun onBufferHealthCapChanged(maxVideoBitrate: Long)
+        fun sendBufferHealthEvent(payload: String)
+    }
+
+    private val log = PKLog.get(BufferHealthMonitor::class.java.simpleName)
+
+    private class Sample(val timeMs: Long, val positionMs: Long, val bufferPositionMs: Long)
+
+    var stallHorizonMs = DEFAULT_STALL_HORIZON_MS
+    var emitIntervalMs = DEFAULT_EMIT_INTERVAL_MS
+
+    /**
+     * Bitrate of the selected video rendition
+     */
+    var currentVideoBitrate = 0L
+
+    private val samples = ArrayDeque<Sample>()
+    private var minBufferMs = DEFAULT_MIN_BUFFER_MS
+    private var maxBufferMs = DEFAULT_MAX_BUFFER_MS
+    private var segmentDurationMs = 0L
+    private var bitrateCap = AbrConstraints.NO_LIMIT
+    private var cappedAtMs = 0L
+    private var lastEmitAtMs = 0L
+
+    var bufferAheadMs = 0L
+        private set
+    var fillRate = 0.0
+        private set
+    var drainRate = 0.0
+        private set
+
+    /**
+     * Time till the buffer runs out at the current rates, `-1` if it is not running out
+     */
+    var predictedStallMs = -1L
+        private set
+
+    /**
+     * Buffers of the player's load control, it loads till `maxBufferMs`
+     * and starts loading again once the buffer ahead is below `minBufferMs`
+     */
+    fun setPlayerBuffers(minBufferMs: Long, maxBufferMs: Long) {
+        this.minBufferMs = minBufferMs
+        this.maxBufferMs = maxOf(maxBufferMs, minBufferMs)
+    }
+
+    fun onPlayheadUpdated(positionMs: Long, bufferPositionMs: Long) {
+        val nowMs = clock()
+        samples.lastOrNull()?.let { last ->
+            // Seek or a jump to the live edge, the trend starts over
+            val positionDeltaMs = positionMs - last.positionMs
+            if (positionDeltaMs < 0 || positionDeltaMs > (nowMs - last.timeMs) * 2 + SEEK_TOLERANCE_MS) {
+                samples.clear()
+            } else {
+                // Buffered position jumps by the loaded segment, several of them on the initial load
+                val bufferDeltaMs = (bufferPositionMs - last.bufferPositionMs).coerceAtMost(MAX_SEGMENT_DURATION_MS)
+                segmentDurationMs = maxOf(segmentDurationMs, bufferDeltaMs)
+            }
+        }
+        bufferAheadMs = (bufferPositionMs - positionMs).coerceAtLeast(0L)
+        if (bufferAheadMs >= minBufferMs) {
+            // Loader may just be idle, the trend starts once it has to load
+            samples.clear()
+        }
+        samples.addLast(Sample(nowMs, positionMs, bufferPositionMs))
+        val maxWindowMs = maxOf(WINDOW_MS, segmentDurationMs * 2)
+        while (samples.size > 2 && nowMs - samples.first().timeMs > maxWindowMs) {
+            samples.removeFirst()
+        }
+
+        val first = samples.first()
+        val windowMs = nowMs - first.timeMs
+        if (windowMs < maxOf(MIN_WINDOW_MS, segmentDurationMs)) {
+            predictedStallMs = -1L
+        } else {
+            fillRate = (bufferPositionMs - first.bufferPositionMs).toDouble() / windowMs
+            drainRate = (positionMs - first.positionMs).toDouble() / windowMs
+            predictedStallMs = if (drainRate > 0 && fillRate < drainRate) {
+                (bufferAheadMs / (drainRate - fillRate)).toLong()
+            } else {
+                -1L
+            }
+        }
+        updateBitrateCap(nowMs)
+
+        if (nowMs - lastEmitAtMs >= emitIntervalMs) {
+            lastEmitAtMs = nowMs
+            host.sendBufferHealthEvent(toJson())
+        }
+    }
+
+    fun reset() {
+        samples.clear()
+        segmentDurationMs = 0L
+        bufferAheadMs = 0L
+        fillRate = 0.0
+        drainRate = 0.0
+        predictedStallMs = -1L
+        if (bitrateCap != AbrConstraints.NO_LIMIT) {
+            bitrateCap = AbrConstraints.NO_LIMIT
+            host.onBufferHealthCapChanged(AbrConstraints.NO_LIMIT)
+        }
+    }
+
+    fun toJson(): String {
+        return "{ \"bufferAheadMs\": $bufferAheadMs, \"fillRate\": $fillRate, \"drainRate\": $drainRate, " +
+                "\"predictedStallMs\": $predictedStallMs, " +
+                "\"isStallPredicted\": ${isStallPredicted()}, " +
+                "\"maxVideoBitrate\": ${if (bitrateCap == AbrConstraints.NO_LIMIT) -1L else bitrateCap} }"
+    }
+
+    private fun isStallPredicted(): Boolean {
+        return predictedStallMs in 0..stallHorizonMs
+    }
+
+    private fun updateBitrateCap(nowMs: Long) {
+        if (isStallPredicted() && currentVideoBitrate > 0 && nowMs - cappedAtMs >= MIN_DOWNSHIFT_INTERVAL_MS) {
+            val cap = (minOf(bitrateCap, currentVideoBitrate) * DOWNSHIFT_FACTOR).toLong().coerceAtLeast(MIN_VIDEO_BITRATE)
+            if (cap < bitrateCap) {
+                log.d("Stall predicted in $predictedStallMs ms, buffer ahead: $bufferAheadMs " +
+                        "fill: $fillRate drain: $drainRate, capping video bitrate to $cap")
+                bitrateCap = cap
+                cappedAtMs = nowMs
+                host.onBufferHealthCapChanged(cap)
+            }
+        } else if (bitrateCap != AbrConstraints.NO_LIMIT && bufferAheadMs >= getRecoveredBufferAheadMs() &&
+            nowMs - cappedAtMs >= MIN_CAP_DURATION_MS) {
+            log.d("Buffer has recovered, buffer ahead: $bufferAheadMs")
+            bitrateCap = AbrConstraints.NO_LIMIT
+            host.onBufferHealthCapChanged(AbrConstraints.NO_LIMIT)
+        }
+    }
+
+    /**
+     * Margin above `minBufferMs` keeps the cap from flapping, `maxBufferMs` may be close to it
+     */
+    private fun getRecoveredBufferAheadMs(): Long {
+        return minBufferMs + minOf(RECOVERED_BUFFER_MARGIN_MS, (maxBufferMs - minBufferMs) / 2)
+    }
+
+    companion object {
+        const val DEFAULT_STALL_HORIZON_MS = 5000L
+        const val DEFAULT_EMIT_INTERVAL_MS = 2000L
+        private const val WINDOW_MS = 5000L
+        private const val MIN_WINDOW_MS = 2000L
+        private const val SEEK_TOLERANCE_MS = 1000L
+        private const val MAX_SEGMENT_DURATION_MS = 10_000L
+        private const val DOWNSHIFT_FACTOR = 0.6
+        private const val MIN_VIDEO_BITRATE = 150_000L
+        private const val MIN_DOWNSHIFT_INTERVAL_MS = 4000L
+        private const val RECOVERED_BUFFER_MARGIN_MS = 5000L
+        private const val DEFAULT_MIN_BUFFER_MS = 50_000L // Load control defaults of the player
+        private const val DEFAULT_MAX_BUFFER_MS = 50_000L
+        private const val MIN_CAP_DURATION_MS = 10_000L
+    }
+}
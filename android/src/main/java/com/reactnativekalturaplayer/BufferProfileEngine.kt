@@ -0,0 +1,139 @@
+package com.reactnativekalturaplayer
+
+import android.app.ActivityManager
+import android.content.Context
+import com.kaltura.playkit.PKLog
+import com.kaltura.playkit.PKMediaEntry
+import com.kaltura.playkit.player.LoadControlBuffers
+import com.reactnativekalturaplayer.model.BufferProfile
+
+/**
+ * Selects the player buffers by the content type, the device memory and the
+ * measured throughput instead of one static [LoadControlBuffers] for everything.
+ *
+ * Named profiles can be overridden by the app with [setProfiles], an unknown
+ * profile name falls back to the automatic selection. Buffers are clamped to
+ * `maxBufferMs >= minBufferMs >= bufferForPlaybackMs` on the selection.
+ */
+class BufferProfileEngine(context: Context) {
+
+    private val log = PKLog.get(BufferProfileEngine::class.java.simpleName)
+
+    private val profiles = LinkedHashMap<String, BufferProfile>()
+
+    /**
+     * Device with small heap or `isLowRamDevice`, its buffers are always capped
+     */
+    val isLowMemoryDevice: Boolean
+
+    /**
+     * Cap of `maxBufferMs` set by the network policy, e.g. to save the metered data
+     */
+    var networkMaxBufferMs = Int.MAX_VALUE
+
+    init {
+        resetProfiles()
+        val activityManager = context.getSystemService(Context.ACTIVITY_SERVICE) as? ActivityManager
+        isLowMemoryDevice = activityManager != null &&
+                (activityManager.isLowRamDevice || activityManager.memoryClass <= LOW_MEMORY_CLASS_MB)
+    }
+
+    /**
+     * Override the named profiles, other profiles keep their defaults.
+     * Partial overrides should be merged onto [getDefaultProfile] by the caller.
+     */
+    fun setProfiles(overrides: Map<String, BufferProfile>) {
+        resetProfiles()
+        for ((name, profile) in overrides) {
+            if (profile.minBufferMs < profile.bufferForPlaybackMs || profile.minBufferMs < profile.bufferForPlaybackAfterRebufferMs ||
+                profile.maxBufferMs < profile.minBufferMs) {
+                log.w("Buffer profile $name is inconsistent, it is clamped to maxBufferMs >= minBufferMs >= bufferForPlaybackMs")
+            }
+            profiles[name] = profile
+        }
+    }
+
+    /**
+     * @param profileName Profile requested for the asset, selected by the content if `null`
+     * @param mediaEntry Resolved media entry, `null` if it is not known yet
+     * @param memoryTier Current tier of the [MemoryGovernor]
+     */
+    fun select(profileName: String?, mediaEntry: PKMediaEntry?, memoryTier: Int): LoadControlBuffers {
+        val selectedName = profileName?.takeIf { profiles.containsKey(it) } ?: getProfileName(mediaEntry)
+        val profile = profiles[selectedName] ?: BufferProfile()
+
+        var minBufferMs = profile.minBufferMs.coerceAtLeast(0)
+        var maxBufferMs = profile.maxBufferMs.coerceAtLeast(minBufferMs)
+        if (isLowMemoryDevice || memoryTier >= MemoryGovernor.TIER_LOW) {
+            val lowMemoryProfile = profiles[PROFILE_LOW_MEMORY] ?: BufferProfile()
+            maxBufferMs = Math.min(maxBufferMs, lowMemoryProfile.maxBufferMs)
+            minBufferMs = Math.min(minBufferMs, maxBufferMs)
+        }
+        if (networkMaxBufferMs < maxBufferMs) {
+            maxBufferMs = networkMaxBufferMs
+            minBufferMs = Math.min(minBufferMs, maxBufferMs)
+        }
+
+        // Fast link refills quickly hence start earlier, slow link needs more buffer before starting
+        var bufferForPlaybackMs = profile.bufferForPlaybackMs.coerceIn(0, minBufferMs)
+        val throughputBps = BandwidthArbiter.estimatedThroughputBps
+        if (throughputBps >= FAST_THROUGHPUT_BPS) {
+            bufferForPlaybackMs /= 2
+        } else if (throughputBps in 1 until SLOW_THROUGHPUT_BPS) {
+            bufferForPlaybackMs = Math.min(bufferForPlaybackMs * 2, minBufferMs)
+        }
+
+        log.d("Buffer profile $selectedName min: $minBufferMs max: $maxBufferMs " +
+                "playback: $bufferForPlaybackMs throughput: $throughputBps")
+        return LoadControlBuffers()
+            .setMinPlayerBufferMs(minBufferMs)
+            .setMaxPlayerBufferMs(maxBufferMs)
+            .setMinBufferAfterInteractionMs(bufferForPlaybackMs)
+            .setMinBufferAfterReBufferMs(profile.bufferForPlaybackAfterRebufferMs.coerceIn(0, minBufferMs))
+            .setBackBufferDurationMs(profile.backBufferDurationMs.coerceAtLeast(0))
+    }
+
+    private fun getProfileName(mediaEntry: PKMediaEntry?): String {
+        return when {
+            mediaEntry == null -> PROFILE_VOD
+            mediaEntry.mediaType == PKMediaEntry.MediaEntryType.Live -> PROFILE_LIVE
+            mediaEntry.mediaType == PKMediaEntry.MediaEntryType.DvrLive -> PROFILE_DVR_LIVE
+            mediaEntry.duration in 1 until SHORT_FORM_MAX_DURATION_MS -> PROFILE_SHORT_FORM
+            else -> PROFILE_VOD
+        }
+    }
+
+    private fun resetProfiles() {
+        profiles.clear()
+        for (name in PROFILE_NAMES) {
+            getDefaultProfile(name)?.let { profiles[name] = it }
+        }
+    }
+
+    companion object {
+        const val PROFILE_VOD = "vod"
+        const val PROFILE_LIVE = "live"
+        const val PROFILE_DVR_LIVE = "dvrLive"
+        const val PROFILE_SHORT_FORM = "shortForm"
+        const val PROFILE_LOW_MEMORY = "lowMemory" // Only its `maxBufferMs` is used as the cap
+        private val PROFILE_NAMES = listOf(PROFILE_VOD, PROFILE_LIVE, PROFILE_DVR_LIVE, PROFILE_SHORT_FORM, PROFILE_LOW_MEMORY)
+        private const val SHORT_FORM_MAX_DURATION_MS = 60_000L
+        private const val LOW_MEMORY_CLASS_MB = 128
+        private const val FAST_THROUGHPUT_BPS = 10_000_000L
+        private const val SLOW_THROUGHPUT_BPS = 1_500_000L
+
+        /**
+         * New instance of the built-in profile, `null` for an unknown name
+         */
+        fun getDefaultProfile(name: String): BufferProfile? {
+            return when (name) {
+                PROFILE_VOD -> BufferProfile(15000, 50000, 2500, 5000)
+                PROFILE_LIVE -> BufferProfile(6000, 20000, 1500, 3000)
+                PROFILE_DVR_LIVE -> BufferProfile(10000, 30000, 2000, 4000)
+                PROFILE_SHORT_FORM -> BufferProfile(2500, 10000, 1000, 2000)
+                PROFILE_LOW_MEMORY -> BufferProfile(6000, 15000, 2500, 5000)
+                else -> null
+            }
+        }
+    }
+}
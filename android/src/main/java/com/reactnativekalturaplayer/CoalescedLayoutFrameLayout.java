@@ -0,0 +1,77 @@
+package com.reactnativekalturaplayer;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.widget.FrameLayout;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Container of a player view which runs the measure + layout pass itself after
+ * requestLayout(), RN does not do it for the native children.
+ * Requests are coalesced into at most one pass per frame.
+ */
+public abstract class CoalescedLayoutFrameLayout extends FrameLayout {
+
+   private boolean isLayoutPassScheduled = false;
+   private int performedLayoutPasses = 0;
+   private int skippedLayoutPasses = 0;
+   private int laidOutWidth = -1;
+   private int laidOutHeight = -1;
+
+   public CoalescedLayoutFrameLayout(@NonNull Context context) {
+      super(context);
+   }
+
+   @Override
+   public void requestLayout() {
+      super.requestLayout();
+      reMeasureAndReLayout();
+   }
+
+   public void reMeasureAndReLayout() {
+      if (isLayoutPassScheduled) {
+         skippedLayoutPasses++;
+         return;
+      }
+      isLayoutPassScheduled = true;
+      Choreographer.getInstance().postFrameCallback(measureAndLayout);
+   }
+
+   private final Choreographer.FrameCallback measureAndLayout = frameTimeNanos -> {
+      isLayoutPassScheduled = false;
+      // Nothing has requested the layout since the last pass and the size is the same
+      if (!isLayoutRequested() && getWidth() == laidOutWidth && getHeight() == laidOutHeight) {
+         skippedLayoutPasses++;
+         return;
+      }
+
+      // The player view relies on a measure + layout pass happening after it calls requestLayout().
+      // https://github.com/facebook/react-native/issues/17968#issuecomment-721958427
+      measure(
+              MeasureSpec.makeMeasureSpec(getWidth(), MeasureSpec.EXACTLY),
+              MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.EXACTLY));
+      layout(getLeft(), getTop(), getRight(), getBottom());
+      performedLayoutPasses++;
+      laidOutWidth = getWidth();
+      laidOutHeight = getHeight();
+      onLayoutPassPerformed();
+   };
+
+   /**
+    * Called on the main thread after every performed measure + layout pass
+    */
+   protected void onLayoutPassPerformed() {
+   }
+
+   public int getPerformedLayoutPasses() {
+      return performedLayoutPasses;
+   }
+
+   /**
+    * Layout passes which were coalesced into an already scheduled pass or not needed at all
+    */
+   public int getSkippedLayoutPasses() {
+      return skippedLayoutPasses;
+   }
+}
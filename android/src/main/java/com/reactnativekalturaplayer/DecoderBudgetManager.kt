@@ -0,0 +1,146 @@
+package com.reactnativekalturaplayer
+
+import android.media.MediaCodecInfo
+import android.media.MediaCodecList
+import android.os.Build
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+
+/**
+ * Process wide budget of the concurrent video decoders.
+ *
+ * Every player instance which prepares a media takes a [Lease] with a [Priority].
+ * Once the budget is exhausted the lower priority leases are throttled first,
+ * oldest first, and their owners release the player. Foreground player is always
+ * granted, other priorities are denied if only higher priority leases are left.
+ *
+ * All the methods should be called on the main thread.
+ */
+object DecoderBudgetManager {
+
+    private val log = PKLog.get(DecoderBudgetManager::class.java.simpleName)
+
+    enum class Priority {
+        STANDBY,
+        PREVIEW,
+        FOREGROUND
+    }
+
+    class Lease internal constructor(val name: String, priority: Priority, var onThrottled: () -> Unit) {
+        var priority = priority
+            internal set
+        val acquiredAtMs = SystemClock.elapsedRealtime()
+    }
+
+    const val THROTTLE_ACTION_RELEASED = "released"
+    const val THROTTLE_ACTION_DENIED = "denied"
+
+    private const val DEFAULT_MAX_DECODERS = 2
+    private const val MAX_DETECTED_DECODERS = 4
+    private const val AVC_MIME_TYPE = "video/avc"
+
+    private val leases = ArrayList<Lease>()
+    private var maxDecodersOverride = 0
+
+    private val detectedMaxDecoders: Int by lazy {
+        detectMaxDecoders()
+    }
+
+    val maxDecoders: Int
+        get() = if (maxDecodersOverride > 0) maxDecodersOverride else detectedMaxDecoders
+
+    val activeDecoders: Int
+        get() = leases.size
+
+    /**
+     * Override the detected budget, `0` goes back to the detected one
+     */
+    fun setMaxDecoders(maxDecoders: Int) {
+        maxDecodersOverride = maxDecoders.coerceAtLeast(0)
+        trimToBudget(Priority.FOREGROUND)
+    }
+
+    /**
+     * @return `null` if the budget is used by the higher or same priority leases
+     */
+    fun acquire(name: String, priority: Priority, onThrottled: () -> Unit): Lease? {
+        if (leases.size >= maxDecoders) {
+            trimToBudget(priority, 1)
+        }
+
+        if (leases.size >= maxDecoders && priority != Priority.FOREGROUND) {
+            log.w("Decoder budget $maxDecoders is used, denying $name")
+            return null
+        }
+
+        val lease = Lease(name, priority, onThrottled)
+        leases.add(lease)
+        log.d("Decoder lease acquired by $name, active decoders ${leases.size}/$maxDecoders")
+        return lease
+    }
+
+    fun release(lease: Lease?) {
+        if (lease != null && leases.remove(lease)) {
+            log.d("Decoder lease released by ${lease.name}, active decoders ${leases.size}/$maxDecoders")
+        }
+    }
+
+    fun updatePriority(lease: Lease?, priority: Priority) {
+        lease?.priority = priority
+    }
+
+    /**
+     * Throttle the lower priority leases till there is room for `extraDecoders`
+     */
+    private fun trimToBudget(priority: Priority, extraDecoders: Int = 0) {
+        while (leases.size + extraDecoders > maxDecoders) {
+            val lowestLease = leases
+                .filter { it.priority < priority }
+                .minWithOrNull(compareBy<Lease> { it.priority }.thenBy { it.acquiredAtMs })
+                ?: return
+
+            log.d("Throttling ${lowestLease.name} with priority ${lowestLease.priority}")
+            leases.remove(lowestLease)
+            lowestLease.onThrottled()
+        }
+    }
+
+    /**
+     * Max instances of the secure AVC decoder, otherwise of the hardware AVC decoder.
+     * Reported values are often optimistic hence they are capped.
+     */
+    private fun detectMaxDecoders(): Int {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return DEFAULT_MAX_DECODERS
+        }
+
+        var secureInstances = 0
+        var hardwareInstances = 0
+        try {
+            for (codecInfo in MediaCodecList(MediaCodecList.ALL_CODECS).codecInfos) {
+                if (codecInfo.isEncoder || !codecInfo.supportedTypes.any { it.equals(AVC_MIME_TYPE, true) }) {
+                    continue
+                }
+                val name = codecInfo.name.lowercase()
+                if (name.startsWith("omx.google.") || name.startsWith("c2.android.")) {
+                    continue
+                }
+
+                val capabilities = codecInfo.getCapabilitiesForType(AVC_MIME_TYPE)
+                val maxInstances = capabilities.maxSupportedInstances
+                if (name.endsWith(".secure") || capabilities.isFeatureSupported(MediaCodecInfo.CodecCapabilities.FEATURE_SecurePlayback)) {
+                    secureInstances = maxOf(secureInstances, maxInstances)
+                } else {
+                    hardwareInstances = maxOf(hardwareInstances, maxInstances)
+                }
+            }
+        } catch (exception: RuntimeException) {
+            log.e("Decoders can not be queried ${exception.message}")
+        }
+
+        val instances = if (secureInstances > 0) secureInstances else hardwareInstances
+        val maxDecoders = if (instances > 0) instances.coerceAtMost(MAX_DETECTED_DECODERS) else DEFAULT_MAX_DECODERS
+        log.d("Detected decoder budget $maxDecoders, secure instances $secureInstances, hardware instances $hardwareInstances")
+        return maxDecoders
+    }
+}
@@ -0,0 +1,201 @@
+package com.reactnativekalturaplayer
+
+import android.content.BroadcastReceiver
+import android.content.Context
+import android.content.Intent
+import android.content.IntentFilter
+import android.os.Build
+import android.os.Handler
+import android.os.Looper
+import android.os.PowerManager
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+
+/**
+ * Maps the battery saver, the thermal status and the rate of the dropped
+ * frames to the levels of the video quality degradation.
+ *
+ * Battery saver and thermal status set the level right away. Dropped frames
+ * raise the level by one after [DROP_RAISE_INTERVALS] bad intervals in a row
+ * and lower it by one after [DROP_LOWER_INTERVALS] clean intervals of playback.
+ *
+ * Callbacks are delivered on the main thread.
+ */
+class DeviceStateGovernor(private val host: Host) {
+
+    interface Host {
+        fun isPlaybackActive(): Boolean
+        fun onDeviceStateLevelChanged(level: Int, reason: String)
+    }
+
+    private val log = PKLog.get(DeviceStateGovernor::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+    private var powerManager: PowerManager? = null
+    private var appContext: Context? = null
+
+    var level = LEVEL_NONE
+        private set
+    var isPowerSaveMode = false
+        private set
+    var thermalStatus = 0
+        private set
+    var droppedFramesPerSecond = 0.0
+        private set
+
+    private var droppedFramesLevel = LEVEL_NONE
+    private var droppedFramesSinceCheck = 0L
+    private var lastCheckAtMs = 0L
+    private var badIntervals = 0
+    private var cleanIntervals = 0
+
+    private val powerSaveModeReceiver = object : BroadcastReceiver() {
+        override fun onReceive(context: Context, intent: Intent) {
+            isPowerSaveMode = powerManager?.isPowerSaveMode ?: false
+            updateLevel(REASON_BATTERY_SAVER)
+        }
+    }
+
+    private val thermalStatusListener: Any? = if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+        PowerManager.OnThermalStatusChangedListener { status ->
+            thermalStatus = status
+            updateLevel(REASON_THERMAL)
+        }
+    } else {
+        null
+    }
+
+    private val checkDroppedFramesRunnable = object : Runnable {
+        override fun run() {
+            checkDroppedFrames()
+            mainHandler.postDelayed(this, CHECK_INTERVAL_MS)
+        }
+    }
+
+    fun register(context: Context) {
+        if (powerManager != null) {
+            return
+        }
+        val manager = context.getSystemService(Context.POWER_SERVICE) as? PowerManager ?: return
+        powerManager = manager
+        appContext = context.applicationContext
+        isPowerSaveMode = manager.isPowerSaveMode
+        context.applicationContext.registerReceiver(
+            powerSaveModeReceiver,
+            IntentFilter(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED)
+        )
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            thermalStatus = manager.currentThermalStatus
+            manager.addThermalStatusListener(thermalStatusListener as PowerManager.OnThermalStatusChangedListener)
+        }
+        lastCheckAtMs = SystemClock.elapsedRealtime()
+        mainHandler.postDelayed(checkDroppedFramesRunnable, CHECK_INTERVAL_MS)
+        // Host may be in the middle of its own setup while registering
+        mainHandler.post {
+            updateLevel(if (thermalStatus != 0) REASON_THERMAL else REASON_BATTERY_SAVER)
+        }
+    }
+
+    fun unregister() {
+        val manager = powerManager ?: return
+        mainHandler.removeCallbacks(checkDroppedFramesRunnable)
+        appContext?.unregisterReceiver(powerSaveModeReceiver)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            manager.removeThermalStatusListener(thermalStatusListener as PowerManager.OnThermalStatusChangedListener)
+        }
+        powerManager = null
+        appContext = null
+        droppedFramesLevel = LEVEL_NONE
+        badIntervals = 0
+        cleanIntervals = 0
+        updateLevel(REASON_DISABLED)
+    }
+
+    fun onVideoFramesDropped(droppedFrames: Long) {
+        droppedFramesSinceCheck += droppedFrames
+    }
+
+    private fun checkDroppedFrames() {
+        val nowMs = SystemClock.elapsedRealtime()
+        val elapsedMs = nowMs - lastCheckAtMs
+        lastCheckAtMs = nowMs
+        val droppedFrames = droppedFramesSinceCheck
+        droppedFramesSinceCheck = 0L
+        if (!host.isPlaybackActive() || elapsedMs <= 0) {
+            return
+        }
+
+        droppedFramesPerSecond = droppedFrames * 1000.0 / elapsedMs
+        if (droppedFramesPerSecond >= BAD_DROPPED_FRAMES_PER_SECOND) {
+            cleanIntervals = 0
+            badIntervals++
+            if (badIntervals >= DROP_RAISE_INTERVALS && droppedFramesLevel < LEVEL_MAX) {
+                badIntervals = 0
+                droppedFramesLevel++
+                updateLevel(REASON_DROPPED_FRAMES)
+            }
+        } else if (droppedFramesPerSecond <= CLEAN_DROPPED_FRAMES_PER_SECOND) {
+            badIntervals = 0
+            cleanIntervals++
+            if (cleanIntervals >= DROP_LOWER_INTERVALS && droppedFramesLevel > LEVEL_NONE) {
+                cleanIntervals = 0
+                droppedFramesLevel--
+                updateLevel(REASON_DROPPED_FRAMES)
+            }
+        }
+    }
+
+    private fun updateLevel(reason: String) {
+        val newLevel = maxOf(getThermalLevel(), if (isPowerSaveMode && powerManager != null) LEVEL_LOW else LEVEL_NONE, droppedFramesLevel)
+        if (newLevel == level) {
+            return
+        }
+        log.d("Device state level $level -> $newLevel reason: $reason thermal: $thermalStatus " +
+                "powerSave: $isPowerSaveMode droppedFps: $droppedFramesPerSecond")
+        level = newLevel
+        host.onDeviceStateLevelChanged(newLevel, reason)
+    }
+
+    private fun getThermalLevel(): Int {
+        if (powerManager == null || Build.VERSION.SDK_INT < Build.VERSION_CODES.Q) {
+            return LEVEL_NONE
+        }
+        return when {
+            thermalStatus >= PowerManager.THERMAL_STATUS_CRITICAL -> LEVEL_HIGH
+            thermalStatus >= PowerManager.THERMAL_STATUS_SEVERE -> LEVEL_MEDIUM
+            thermalStatus >= PowerManager.THERMAL_STATUS_MODERATE -> LEVEL_LOW
+            else -> LEVEL_NONE
+        }
+    }
+
+    companion object {
+        /**
+         * Battery saver or thermal throttling is on, read right away
+         * whether the governor is registered or not
+         */
+        fun isThrottled(context: Context): Boolean {
+            val manager = context.getSystemService(Context.POWER_SERVICE) as? PowerManager ?: return false
+            if (manager.isPowerSaveMode) {
+                return true
+            }
+            return Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q &&
+                    manager.currentThermalStatus >= PowerManager.THERMAL_STATUS_MODERATE
+        }
+
+        const val LEVEL_NONE = 0
+        const val LEVEL_LOW = 1 // Video is capped to 720p
+        const val LEVEL_MEDIUM = 2 // Video is capped to 540p
+        const val LEVEL_HIGH = 3 // Video is capped to 360p and its bitrate as well
+        private const val LEVEL_MAX = LEVEL_HIGH
+
+        const val REASON_THERMAL = "thermal"
+        const val REASON_BATTERY_SAVER = "batterySaver"
+        const val REASON_DROPPED_FRAMES = "droppedFrames"
+        const val REASON_DISABLED = "disabled"
+
+        private const val CHECK_INTERVAL_MS = 5000L
+        private const val BAD_DROPPED_FRAMES_PER_SECOND = 4.0
+        private const val CLEAN_DROPPED_FRAMES_PER_SECOND = 0.5
+        private const val DROP_RAISE_INTERVALS = 2
+        private const val DROP_LOWER_INTERVALS = 6
+    }
+}
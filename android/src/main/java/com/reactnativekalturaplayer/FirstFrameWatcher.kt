@@ -0,0 +1,98 @@
+package com.reactnativekalturaplayer
+
+import android.os.Handler
+import android.os.Looper
+import android.view.TextureView
+import android.view.View
+import android.view.ViewTreeObserver
+
+/**
+ * Detects the first video frame which reaches the video view of the player view.
+ *
+ * TextureView reports it through the timestamp of its surface texture, which
+ * changes once a new frame is drawn. SurfaceView frames are composed outside
+ * of the view hierarchy, so for it the first advance of the playhead while
+ * playing is used.
+ *
+ * All the methods should be called on the main thread.
+ */
+class FirstFrameWatcher {
+
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    private var onFirstFrame: (() -> Unit)? = null
+    private var playerView: View? = null
+    private var videoView: View? = null
+    private var initialTimestamp = 0L
+    private var lastPositionMs = POSITION_UNKNOWN
+
+    private val preDrawListener = ViewTreeObserver.OnPreDrawListener {
+        // Texture is updated while drawing, check once this traversal is done
+        mainHandler.post(checkFrameRunnable)
+        true
+    }
+
+    private val checkFrameRunnable = Runnable { checkFrame() }
+
+    val isWatching: Boolean
+        get() = onFirstFrame != null
+
+    /**
+     * Frame already held by the surface, e.g. of a reattached player view, is not counted
+     */
+    fun watch(playerView: View, onFirstFrame: () -> Unit) {
+        cancel()
+        this.onFirstFrame = onFirstFrame
+        this.playerView = playerView
+        val foundVideoView = findVideoView(playerView)
+        videoView = foundVideoView
+        initialTimestamp = (foundVideoView as? TextureView)?.surfaceTexture?.timestamp ?: 0L
+        playerView.viewTreeObserver.addOnPreDrawListener(preDrawListener)
+    }
+
+    /**
+     * Playhead of the watched player, the signal for the SurfaceView
+     */
+    fun onPlayheadUpdated(positionMs: Long, isPlaying: Boolean) {
+        if (!isWatching || videoView is TextureView) {
+            return
+        }
+        if (isPlaying && lastPositionMs != POSITION_UNKNOWN && positionMs > lastPositionMs) {
+            notifyFirstFrame()
+            return
+        }
+        lastPositionMs = positionMs
+    }
+
+    fun cancel() {
+        mainHandler.removeCallbacks(checkFrameRunnable)
+        playerView?.viewTreeObserver?.let {
+            if (it.isAlive) {
+                it.removeOnPreDrawListener(preDrawListener)
+            }
+        }
+        onFirstFrame = null
+        playerView = null
+        videoView = null
+        initialTimestamp = 0L
+        lastPositionMs = POSITION_UNKNOWN
+    }
+
+    private fun checkFrame() {
+        val view = videoView as? TextureView ?: return
+        val timestamp = view.surfaceTexture?.timestamp ?: 0L
+        if (timestamp != 0L && timestamp != initialTimestamp) {
+            notifyFirstFrame()
+        }
+    }
+
+    private fun notifyFirstFrame() {
+        val callback = onFirstFrame ?: return
+        cancel()
+        callback()
+    }
+
+    companion object {
+        private const val POSITION_UNKNOWN = -1L
+    }
+}
@@ -0,0 +1,116 @@
+package com.reactnativekalturaplayer
+
+import android.graphics.Bitmap
+import android.os.Build
+import android.os.Handler
+import android.os.Looper
+import android.view.PixelCopy
+import android.view.SurfaceView
+import android.view.TextureView
+import android.view.View
+import android.view.ViewGroup
+import android.widget.FrameLayout
+import android.widget.ImageView
+import com.kaltura.playkit.PKLog
+
+/**
+ * Downscaled bitmap of the last rendered frame which is shown over the
+ * player view until the player renders again, e.g. after the app is resumed
+ * or the player view is reattached.
+ *
+ * Bitmap is bounded by [maxBytes] and it is recycled once hidden.
+ * All the methods should be called on the main thread.
+ */
+class FrameSnapshot(private val hostView: ViewGroup) {
+
+    private val log = PKLog.get(FrameSnapshot::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    var maxBytes = DEFAULT_MAX_BYTES
+    var maxHoldMs = DEFAULT_MAX_HOLD_MS
+
+    private var bitmap: Bitmap? = null
+    private var placeholderView: ImageView? = null
+    private val hideRunnable = Runnable { hide() }
+
+    val isShown: Boolean
+        get() = placeholderView != null
+
+    val byteCount: Int
+        get() = bitmap?.allocationByteCount ?: 0
+
+    /**
+     * Capture the frame of the video view inside `playerView`.
+     * `onCaptured` is always called, synchronously unless PixelCopy is used.
+     */
+    fun capture(playerView: View?, onCaptured: () -> Unit) {
+        hide()
+        val videoView = playerView?.let { findVideoView(it) }
+        if (videoView == null || videoView.width == 0 || videoView.height == 0) {
+            onCaptured()
+            return
+        }
+
+        val scale = Math.min(1.0, Math.sqrt(maxBytes.toDouble() / (videoView.width * videoView.height * BYTES_PER_PIXEL)))
+        val width = (videoView.width * scale).toInt().coerceAtLeast(1)
+        val height = (videoView.height * scale).toInt().coerceAtLeast(1)
+
+        if (videoView is TextureView) {
+            bitmap = videoView.getBitmap(width, height)
+            onCaptured()
+        } else if (videoView is SurfaceView && Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && videoView.holder.surface.isValid) {
+            val snapshotBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888)
+            try {
+                PixelCopy.request(videoView, snapshotBitmap, { result ->
+                    if (result == PixelCopy.SUCCESS) {
+                        bitmap = snapshotBitmap
+                    } else {
+                        log.d("Frame snapshot failed with $result")
+                        snapshotBitmap.recycle()
+                    }
+                    onCaptured()
+                }, mainHandler)
+            } catch (exception: IllegalArgumentException) {
+                log.e("Frame snapshot failed ${exception.message}")
+                snapshotBitmap.recycle()
+                onCaptured()
+            }
+        } else {
+            onCaptured()
+        }
+    }
+
+    /**
+     * Show the captured frame over the host view, it is hidden on [hide]
+     * or after [maxHoldMs] at the latest
+     */
+    fun show() {
+        val snapshotBitmap = bitmap ?: return
+        if (placeholderView == null) {
+            val imageView = ImageView(hostView.context)
+            imageView.scaleType = ImageView.ScaleType.FIT_CENTER
+            imageView.setImageBitmap(snapshotBitmap)
+            hostView.addView(imageView, FrameLayout.LayoutParams(FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT))
+            placeholderView = imageView
+        }
+        mainHandler.removeCallbacks(hideRunnable)
+        mainHandler.postDelayed(hideRunnable, maxHoldMs)
+    }
+
+    fun hide() {
+        mainHandler.removeCallbacks(hideRunnable)
+        placeholderView?.let {
+            it.setImageDrawable(null)
+            hostView.removeView(it)
+        }
+        placeholderView = null
+        bitmap?.recycle()
+        bitmap = null
+    }
+
+    companion object {
+        const val DEFAULT_MAX_BYTES = 1024 * 1024
+        const val DEFAULT_MAX_HOLD_MS = 5000L
+        private const val BYTES_PER_PIXEL = 4
+    }
+}
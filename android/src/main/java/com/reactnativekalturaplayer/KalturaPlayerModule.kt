@@ -6,12 +6,14 @@ import com.facebook.react.bridge.Promise
 import com.facebook.react.bridge.ReactApplicationContext
 import com.facebook.react.bridge.ReactContextBaseJavaModule
 import com.facebook.react.bridge.ReactMethod
+import com.facebook.react.bridge.ReadableArray
 import com.kaltura.playkit.PKLog
 import com.kaltura.tvplayer.KalturaPlayer
 
 class KalturaPlayerModule(
     reactApplicationContext: ReactApplicationContext,
-    kalturaPlayerViewManager: KalturaPlayerViewManager?) : ReactContextBaseJavaModule(reactApplicationContext) {
+    kalturaPlayerViewManager: KalturaPlayerViewManager?,
+    kalturaPreviewViewManager: KalturaPreviewViewManager?) : ReactContextBaseJavaModule(reactApplicationContext) {
 
     private val log = PKLog.get(KalturaPlayerModule::class.java.simpleName)
     private val PLAYER_CLASS = "KalturaPlayerModule"
@@ -25,13 +27,23 @@ class KalturaPlayerModule(
             kalturaPlayerRNView = kalturaPlayerViewManager.kalturaPlayerView
         }
 
-        kalturaPlayerRN = KalturaPlayerRN(context, kalturaPlayerRNView)
+        kalturaPlayerRN = KalturaPlayerRN(context, kalturaPlayerRNView, kalturaPreviewViewManager)
     }
 
     override fun getName(): String {
         return PLAYER_CLASS
     }
 
+    /**
+     * Catalyst instance is torn down, e.g. on reload, while the app
+     * may not have called destroy
+     */
+    override fun invalidate() {
+        log.d("invalidate")
+        kalturaPlayerRN.destroy()
+        super.invalidate()
+    }
+
     @ReactMethod
     fun setUpPlayer(playerType: String, partnerId: Int = 0, initOptions: String?, promise: Promise) {
         log.d("setPartnerId: $partnerId")
@@ -49,6 +61,238 @@ class KalturaPlayerModule(
         kalturaPlayerRN.load(assetId, mediaAsset, promise)
     }
 
+    @ReactMethod
+    fun prefetchMedia(assetIds: ReadableArray?, mediaAsset: String?, promise: Promise) {
+        log.d("prefetchMedia assetIds: $assetIds \n , mediaAssetJson:$mediaAsset")
+        kalturaPlayerRN.prefetchMedia(assetIds?.toArrayList()?.mapNotNull { it as? String }, mediaAsset, promise)
+    }
+
+    @ReactMethod
+    fun setPlaylist(playlistItems: String?, playlistConfig: String?) {
+        log.d("setPlaylist")
+        checkArguments(this::setPlaylist.name, playlistItems)
+        kalturaPlayerRN.setPlaylist(playlistItems, playlistConfig)
+    }
+
+    @ReactMethod
+    fun playPlaylistItem(index: Int, promise: Promise) {
+        log.d("playPlaylistItem: $index")
+        kalturaPlayerRN.playPlaylistItem(index, promise)
+    }
+
+    @ReactMethod
+    fun playNextPlaylistItem(promise: Promise) {
+        log.d("playNextPlaylistItem")
+        kalturaPlayerRN.playNextPlaylistItem(promise)
+    }
+
+    @ReactMethod
+    fun playPreviousPlaylistItem(promise: Promise) {
+        log.d("playPreviousPlaylistItem")
+        kalturaPlayerRN.playPreviousPlaylistItem(promise)
+    }
+
+    @ReactMethod
+    fun clearPlaylist() {
+        log.d("clearPlaylist")
+        kalturaPlayerRN.clearPlaylist()
+    }
+
+    @ReactMethod
+    fun setZappingChannels(channels: String?, zappingConfig: String?) {
+        log.d("setZappingChannels")
+        checkArguments(this::setZappingChannels.name, channels)
+        kalturaPlayerRN.setZappingChannels(channels, zappingConfig)
+    }
+
+    @ReactMethod
+    fun zapToChannel(index: Int, promise: Promise) {
+        log.d("zapToChannel: $index")
+        kalturaPlayerRN.zapToChannel(index, promise)
+    }
+
+    @ReactMethod
+    fun zapNextChannel(promise: Promise) {
+        log.d("zapNextChannel")
+        kalturaPlayerRN.zapNextChannel(promise)
+    }
+
+    @ReactMethod
+    fun zapPreviousChannel(promise: Promise) {
+        log.d("zapPreviousChannel")
+        kalturaPlayerRN.zapPreviousChannel(promise)
+    }
+
+    @ReactMethod
+    fun clearZappingChannels() {
+        log.d("clearZappingChannels")
+        kalturaPlayerRN.clearZappingChannels()
+    }
+
+    @ReactMethod
+    fun setAngles(angles: String?, currentIndex: Int, multiAngleConfig: String?) {
+        log.d("setAngles")
+        checkArguments(this::setAngles.name, angles)
+        kalturaPlayerRN.setAngles(angles, currentIndex, multiAngleConfig)
+    }
+
+    @ReactMethod
+    fun switchAngle(index: Int, promise: Promise) {
+        log.d("switchAngle: $index")
+        kalturaPlayerRN.switchAngle(index, promise)
+    }
+
+    @ReactMethod
+    fun clearAngles() {
+        log.d("clearAngles")
+        kalturaPlayerRN.clearAngles()
+    }
+
+    @ReactMethod
+    fun setMaxDecoders(maxDecoders: Int) {
+        log.d("setMaxDecoders: $maxDecoders")
+        kalturaPlayerRN.setMaxDecoders(maxDecoders)
+    }
+
+    @ReactMethod
+    fun setForegroundBandwidthShare(share: Float) {
+        log.d("setForegroundBandwidthShare: $share")
+        kalturaPlayerRN.setForegroundBandwidthShare(share)
+    }
+
+    @ReactMethod
+    fun setViewSizeAbrCapEnabled(enabled: Boolean) {
+        log.d("setViewSizeAbrCapEnabled: $enabled")
+        kalturaPlayerRN.setViewSizeAbrCapEnabled(enabled)
+    }
+
+    @ReactMethod
+    fun setOffscreenConfig(offscreenConfig: String?) {
+        log.d("setOffscreenConfig")
+        kalturaPlayerRN.setOffscreenConfig(offscreenConfig)
+    }
+
+    @ReactMethod
+    fun setBufferProfiles(bufferProfiles: String?) {
+        log.d("setBufferProfiles")
+        kalturaPlayerRN.setBufferProfiles(bufferProfiles)
+    }
+
+    @ReactMethod
+    fun setFeedPreviewConfig(feedPreviewConfig: String?) {
+        log.d("setFeedPreviewConfig")
+        kalturaPlayerRN.setFeedPreviewConfig(feedPreviewConfig)
+    }
+
+    @ReactMethod
+    fun startPreview(previewId: String, assetId: String?, mediaAsset: String?, promise: Promise) {
+        log.d("startPreview previewId: $previewId assetId: $assetId")
+        checkArguments(this::startPreview.name, assetId)
+        kalturaPlayerRN.startPreview(previewId, assetId, mediaAsset, promise)
+    }
+
+    @ReactMethod
+    fun stopPreview(previewId: String) {
+        log.d("stopPreview: $previewId")
+        kalturaPlayerRN.stopPreview(previewId)
+    }
+
+    @ReactMethod
+    fun promotePreview(previewId: String, promise: Promise) {
+        log.d("promotePreview: $previewId")
+        kalturaPlayerRN.promotePreview(previewId, promise)
+    }
+
+    @ReactMethod
+    fun setRenderTarget(renderTarget: String, promise: Promise) {
+        log.d("setRenderTarget: $renderTarget")
+        kalturaPlayerRN.setRenderTarget(renderTarget, promise)
+    }
+
+    @ReactMethod
+    fun getRenderMetrics(promise: Promise) {
+        log.d("getRenderMetrics")
+        kalturaPlayerRN.getRenderMetrics(promise)
+    }
+
+    @ReactMethod
+    fun getLayoutPassStats(promise: Promise) {
+        log.d("getLayoutPassStats")
+        kalturaPlayerRN.getLayoutPassStats(promise)
+    }
+
+    @ReactMethod
+    fun getThroughputEstimate(promise: Promise) {
+        log.d("getThroughputEstimate")
+        kalturaPlayerRN.getThroughputEstimate(promise)
+    }
+
+    @ReactMethod
+    fun setThroughputEstimatorConfig(throughputEstimatorConfig: String?) {
+        log.d("setThroughputEstimatorConfig")
+        kalturaPlayerRN.setThroughputEstimatorConfig(throughputEstimatorConfig)
+    }
+
+    @ReactMethod
+    fun setNetworkAbrPolicy(networkAbrPolicy: String?) {
+        log.d("setNetworkAbrPolicy")
+        kalturaPlayerRN.setNetworkAbrPolicy(networkAbrPolicy)
+    }
+
+    @ReactMethod
+    fun setNetworkRecoveryConfig(networkRecoveryConfig: String?) {
+        log.d("setNetworkRecoveryConfig")
+        kalturaPlayerRN.setNetworkRecoveryConfig(networkRecoveryConfig)
+    }
+
+    @ReactMethod
+    fun setDeviceStateGovernorEnabled(enabled: Boolean) {
+        log.d("setDeviceStateGovernorEnabled")
+        kalturaPlayerRN.setDeviceStateGovernorEnabled(enabled)
+    }
+
+    @ReactMethod
+    fun setRenditionBlacklistConfig(renditionBlacklistConfig: String?) {
+        log.d("setRenditionBlacklistConfig")
+        kalturaPlayerRN.setRenditionBlacklistConfig(renditionBlacklistConfig)
+    }
+
+    @ReactMethod
+    fun clearRenditionBlacklist() {
+        log.d("clearRenditionBlacklist")
+        kalturaPlayerRN.clearRenditionBlacklist()
+    }
+
+    @ReactMethod
+    fun setBufferHealthConfig(bufferHealthConfig: String?) {
+        log.d("setBufferHealthConfig")
+        kalturaPlayerRN.setBufferHealthConfig(bufferHealthConfig)
+    }
+
+    @ReactMethod
+    fun setQoeConfig(qoeConfig: String?) {
+        log.d("setQoeConfig")
+        kalturaPlayerRN.setQoeConfig(qoeConfig)
+    }
+
+    @ReactMethod
+    fun getQoeSummary(promise: Promise) {
+        log.d("getQoeSummary")
+        kalturaPlayerRN.getQoeSummary(promise)
+    }
+
+    @ReactMethod
+    fun getMemoryUsage(promise: Promise) {
+        log.d("getMemoryUsage")
+        kalturaPlayerRN.getMemoryUsage(promise)
+    }
+
+    @ReactMethod
+    fun getDecoderBudget(promise: Promise) {
+        log.d("getDecoderBudget")
+        kalturaPlayerRN.getDecoderBudget(promise)
+    }
+
     @ReactMethod
     fun addPlayerView() {
         log.d("addPlayerView")
@@ -61,6 +305,12 @@ class KalturaPlayerModule(
         kalturaPlayerRN.removePlayerView()
     }
 
+    @ReactMethod
+    fun setPreserveSurfaceOnDetach(enabled: Boolean) {
+        log.d("setPreserveSurfaceOnDetach: $enabled")
+        kalturaPlayerRN.setPreserveSurfaceOnDetach(enabled)
+    }
+
     @ReactMethod
     fun onApplicationPaused() {
         log.d("onApplicationPaused")
@@ -73,6 +323,36 @@ class KalturaPlayerModule(
         kalturaPlayerRN.onApplicationResumed()
     }
 
+    @ReactMethod
+    fun setBackgroundAudioOnlyEnabled(enabled: Boolean) {
+        log.d("setBackgroundAudioOnlyEnabled: $enabled")
+        kalturaPlayerRN.setBackgroundAudioOnlyEnabled(enabled)
+    }
+
+    @ReactMethod
+    fun suspend() {
+        log.d("suspend")
+        kalturaPlayerRN.suspend()
+    }
+
+    @ReactMethod
+    fun resume() {
+        log.d("resume")
+        kalturaPlayerRN.resume()
+    }
+
+    @ReactMethod
+    fun setAutoSuspendEnabled(enabled: Boolean) {
+        log.d("setAutoSuspendEnabled: $enabled")
+        kalturaPlayerRN.setAutoSuspendEnabled(enabled)
+    }
+
+    @ReactMethod
+    fun setFrameSnapshotConfig(frameSnapshotConfig: String?) {
+        log.d("setFrameSnapshotConfig")
+        kalturaPlayerRN.setFrameSnapshotConfig(frameSnapshotConfig)
+    }
+
     @ReactMethod
     fun updatePluginConfigs(pluginConfigJson: String?) {
         log.d("updatePluginConfigs")
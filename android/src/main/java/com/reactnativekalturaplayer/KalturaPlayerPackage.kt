@@ -3,24 +3,32 @@ package com.reactnativekalturaplayer
 import com.facebook.react.ReactPackage
 import com.facebook.react.bridge.NativeModule
 import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.uimanager.ViewManager
 
 class KalturaPlayerPackage: ReactPackage {
 
     private var kalturaPlayerViewManager: KalturaPlayerViewManager? = null
+    private var kalturaPreviewViewManager: KalturaPreviewViewManager? = null
 
     override fun createNativeModules(reactContext: ReactApplicationContext): MutableList<NativeModule> {
         if (kalturaPlayerViewManager == null) {
             kalturaPlayerViewManager = KalturaPlayerViewManager(reactContext)
         }
+        if (kalturaPreviewViewManager == null) {
+            kalturaPreviewViewManager = KalturaPreviewViewManager()
+        }
         val modules: MutableList<NativeModule> = ArrayList()
-        modules.add(KalturaPlayerModule(reactContext, kalturaPlayerViewManager))
+        modules.add(KalturaPlayerModule(reactContext, kalturaPlayerViewManager, kalturaPreviewViewManager))
         return modules
     }
 
-    override fun createViewManagers(reactContext: ReactApplicationContext): List<KalturaPlayerViewManager?> {
+    override fun createViewManagers(reactContext: ReactApplicationContext): List<ViewManager<*, *>?> {
         if (kalturaPlayerViewManager == null) {
             kalturaPlayerViewManager = KalturaPlayerViewManager(reactContext)
         }
-        return listOf(kalturaPlayerViewManager)
+        if (kalturaPreviewViewManager == null) {
+            kalturaPreviewViewManager = KalturaPreviewViewManager()
+        }
+        return listOf(kalturaPlayerViewManager, kalturaPreviewViewManager)
     }
 }
@@ -1,9 +1,12 @@
 package com.reactnativekalturaplayer
 
 import android.graphics.Color
+import android.os.Debug
 import android.os.Handler
 import android.os.Looper
+import android.os.SystemClock
 import android.text.TextUtils
+import android.view.View
 import android.view.ViewGroup
 import android.webkit.URLUtil
 import android.widget.FrameLayout
@@ -39,7 +42,11 @@ import java.util.*
 
 class KalturaPlayerRN(
     private val context: ReactApplicationContext,
-    private val kalturaPlayerRNView: KalturaPlayerRNView): LifecycleEventListener {
+    private val kalturaPlayerRNView: KalturaPlayerRNView,
+    private val kalturaPreviewViewManager: KalturaPreviewViewManager?): LifecycleEventListener,
+    PlaylistController.Host, ZappingController.Host, MultiAngleController.Host, MemoryGovernor.Host,
+    NetworkMonitor.Host, NetworkRecoveryController.Host, DeviceStateGovernor.Host,
+    BufferHealthMonitor.Host {
 
     private val log = PKLog.get(KalturaPlayerRN::class.java.simpleName)
 
@@ -50,10 +57,170 @@ class KalturaPlayerRN(
     private var playerType: KalturaPlayer.Type? = null
     private var reportedDuration = Consts.TIME_UNSET
     private var playerViewAdded = false
+    private var isKalturaPlayerListenersAdded = false
+    private var playerVolume = 1f
+
+    // Kept for creating the standby players
+    private var initOptionsModel: InitOptions? = null
+    private var partnerId = 0
+
+    // Group for the listeners used by the native helpers,
+    // these are not removed by `removeKalturaPlayerListeners`
+    private val internalListenersGroup = Any()
+    private val mediaPrefetcher = MediaPrefetcher()
+    private val standbyPlayerPool = StandbyPlayerPool()
+    private val playlistController = PlaylistController(this)
+    private val zappingController = ZappingController(this)
+    private val multiAngleController = MultiAngleController(this)
+    private var decoderLease: DecoderBudgetManager.Lease? = null
+    private var bandwidthParticipant: BandwidthArbiter.Participant? = null
+    private val abrConstraints = AbrConstraints()
+
+    // Feed previews are kept separately from the standby players
+    private val previewPlayerPool = StandbyPlayerPool()
+    private var feedPreviewConfig = FeedPreviewConfig()
 
     private val jsonKeyAndroid: String = "android"
+    private val ABR_CAP_BANDWIDTH = "bandwidth"
+    private val PREVIEW_KEY_PREFIX = "preview:"
+    private val FEED_PREVIEW_STATUS_STARTED = "started"
+    private val FEED_PREVIEW_STATUS_PLAYING = "playing"
+    private val FEED_PREVIEW_STATUS_FAILED = "failed"
+    private val ABR_CAP_AUDIO_ONLY = "audioOnly"
+    private val AUDIO_ONLY_MAX_VIDEO_BITRATE = 1L // Lowest rendition is selected
+    private val AUDIO_ONLY_REASON_OFFSCREEN = "offscreen"
+    private val AUDIO_ONLY_REASON_BACKGROUND = "background"
+    private val VIDEO_TRACK_TYPE = "Video"
+    private val ABR_CAP_MEMORY = "memory"
+    private val MEMORY_CRITICAL_MAX_VIDEO_HEIGHT = 480L
+    private val ABR_CAP_VIEW_SIZE = "viewSize"
+    private val ABR_CAP_NETWORK = "network"
+    private val ABR_CAP_DEVICE_STATE = "deviceState"
+    private val DEVICE_STATE_HIGH_MAX_VIDEO_BITRATE = 800_000L
+    private val ABR_CAP_RENDITIONS = "renditions"
+    private val ABR_CAP_BUFFER_HEALTH = "bufferHealth"
+    private val SUSPEND_REASON_APP = "app"
+    private val SUSPEND_REASON_HOST = "host"
+    private val SUSPEND_REASON_OFFSCREEN = "offscreen"
+    private val RESUME_POSITION_TOLERANCE_MS = 1000L
+    private val PLAYER_SUSPEND_STATUS_SUSPENDED = "suspended"
+    private val PLAYER_SUSPEND_STATUS_RESUMED = "resumed"
     private val youboraAccountCode = "accountCode"
 
+    // Applied once the player view is off-screen for `hiddenDelayMs`
+    private var offscreenConfig = OffscreenConfig()
+    private var appliedOffscreenMode: String? = null
+    private val applyOffscreenModeRunnable = Runnable { applyOffscreenMode() }
+
+    // Video size is capped to the smallest rendition which covers the player view
+    private var isViewSizeAbrCapEnabled = true
+    private var viewWidth = 0
+    private var viewHeight = 0
+    private var videoRenditionSizes: List<Pair<Long, Long>> = emptyList()
+
+    // Player view is parked out of the window on `removePlayerView`, it stays attached
+    // to the player host to keep its surface and the decoder alive
+    private var isSurfacePreservedOnDetach = false
+    private var parkedPlayerView: View? = null
+
+    private val renderMetrics = RenderMetrics()
+
+    // Video is hidden and capped to the lowest rendition while any of the reasons is set
+    private val audioOnlyReasons = HashSet<String>()
+    private val memoryGovernor = MemoryGovernor(this)
+    private var isBackgroundAudioOnlyEnabled = false
+    private var isInBackgroundAudioOnly = false
+    private var lowestVideoTrackId: String? = null
+    private var audioOnlyRestoreVideoTrackId: String? = null
+
+    // Last frame placeholder shown on resume and reattach
+    private val frameSnapshot = FrameSnapshot(kalturaPlayerRNView)
+    private val attachedViewFrameWatcher = FirstFrameWatcher()
+    private val snapshotFrameWatcher = FirstFrameWatcher()
+    private var isFrameSnapshotEnabled = false
+
+    // Player is suspended while any of the reasons is set
+    private val suspendReasons = HashSet<String>()
+    private var isAutoSuspendEnabled = false
+    private var suspendedPositionMs = Consts.TIME_UNSET
+    private var resumeStartedAtMs = 0L
+    // Tracks selected by the app, by the track type, restored after resume
+    private val selectedTrackIds = LinkedHashMap<String, String>()
+    private var isTrackRestorePending = false
+
+    // Player buffers selected by the content, device memory and throughput
+    private val bufferProfileEngine = BufferProfileEngine(context)
+
+    // Bandwidth estimate of the previous sessions is the initial ABR bitrate of the load
+    private val bandwidthEstimateStore = BandwidthEstimateStore(context)
+    private var startupStartedAtMs = 0L
+    private var startupBitrateEstimate = 0L
+    private var startupVideoBitrate = 0L
+
+    // Aggregated throughput of the active player, sent at a fixed rate
+    private val throughputEstimator = ThroughputEstimator()
+    private var throughputEstimatorConfig = ThroughputEstimatorConfig()
+    private val sendThroughputEstimateRunnable = object : Runnable {
+        override fun run() {
+            if (throughputEstimator.consumeSampleCount() > 0) {
+                sendPlayerEvent(KalturaPlayerEvents.THROUGHPUT_ESTIMATE, throughputEstimator.toJson())
+            }
+            if (throughputEstimatorConfig.emitIntervalMs > 0) {
+                mainHandler?.postDelayed(this, throughputEstimatorConfig.emitIntervalMs.toLong())
+            }
+        }
+    }
+
+    // Caps follow the transport of the default network once the policy is enabled
+    private val networkMonitor = NetworkMonitor(this)
+    private var networkAbrPolicy = NetworkAbrPolicy()
+    private val networkRecoveryController = NetworkRecoveryController(this)
+
+    // Video is capped progressively on battery saver, thermal throttling and dropped frames
+    private val deviceStateGovernor = DeviceStateGovernor(this)
+    private var isDeviceStateGovernorEnabled = false
+
+    // Renditions which drop too many frames on this device are never selected again
+    private val renditionBlacklist = RenditionBlacklist(context)
+    private var isRenditionBlacklistEnabled = false
+    private var videoCodec: String? = null
+
+    // Video is downshifted once the buffer ahead is predicted to run out
+    private val bufferHealthMonitor = BufferHealthMonitor(this)
+    private var isBufferHealthEnabled = false
+
+    // QoE of the playback session, summarized at a fixed rate and when the session ends
+    private val qoeAggregator = QoeAggregator()
+    private var qoeConfig = QoeConfig()
+    private val sendQoeSummaryRunnable = object : Runnable {
+        override fun run() {
+            if (qoeAggregator.isSessionActive && qoeAggregator.consumeChanges()) {
+                sendQoeSummary(QoeAggregator.REASON_PERIODIC)
+            }
+            if (qoeConfig.emitIntervalMs > 0) {
+                mainHandler?.postDelayed(this, qoeConfig.emitIntervalMs.toLong())
+            }
+        }
+    }
+
+    init {
+        previewPlayerPool.maxStandbyPlayers = feedPreviewConfig.maxPreviewPlayers
+        kalturaPreviewViewManager?.setOnPreviewViewDroppedListener { previewId ->
+            stopPreview(previewId)
+        }
+        kalturaPlayerRNView.setOnVisibilityChangedListener { isVisible, visibleRatio ->
+            onPlayerViewVisibilityChanged(isVisible, visibleRatio)
+        }
+        kalturaPlayerRNView.setOnViewSizeChangedListener { width, height ->
+            // Zero size is handled as off-screen, keep the last cap
+            if (width > 0 && height > 0) {
+                viewWidth = width
+                viewHeight = height
+                updateViewSizeAbrCap()
+            }
+        }
+    }
+
     fun createPlayerInstance(playerType: KalturaPlayer.Type, partnerId: Int, initOptions: String?, promise: Promise) {
         this.playerType = playerType
 
@@ -80,6 +247,7 @@ class KalturaPlayerRN(
     private fun createKalturaBasicPlayer(initOptions: String?, promise: Promise) {
         log.d("Creating Basic Player instance.")
         val initOptionsModel = getParsedJson(initOptions, InitOptions::class.java)
+        this.initOptionsModel = initOptionsModel
         val playerInitOptions = PlayerInitOptions()
         if (initOptionsModel == null) {
             playerInitOptions.setAutoPlay(true)
@@ -96,6 +264,7 @@ class KalturaPlayerRN(
         runOnUiThread {
             if (player == null) {
                 player = KalturaBasicPlayer.create(context, playerInitOptions)
+                onActivePlayerCreated()
             }
 
             // This will let the apps know that Player has been created now
@@ -109,10 +278,13 @@ class KalturaPlayerRN(
     private fun addPlayerViewToRNView(kalturaPlayer: KalturaPlayer?) {
         kalturaPlayer?.let {
             if (!playerViewAdded) {
+                unparkPlayerView()
                 it.setPlayerView(
                     FrameLayout.LayoutParams.MATCH_PARENT,
                     FrameLayout.LayoutParams.MATCH_PARENT
                 )
+                // Promoted feed preview is still attached to its preview view
+                (it.playerView?.parent as? ViewGroup)?.removeView(it.playerView)
                 kalturaPlayerRNView.addView(it.playerView)
                 playerViewAdded = true
             }
@@ -187,12 +359,16 @@ class KalturaPlayerRN(
             return
         }
 
+        this.initOptionsModel = initOptionsModel
+        this.partnerId = partnerId
+
         // load the player and put it in the main frame
         if (getPlayerType() == KalturaPlayer.Type.ott) {
             KalturaOttPlayer.initialize(context, partnerId, initOptionsModel.serverUrl)
         } else {
             KalturaOvpPlayer.initialize(context, partnerId, initOptionsModel.serverUrl)
         }
+        mediaPrefetcher.setProviderConfig(initOptionsModel.serverUrl, partnerId)
         if (initOptionsModel.warmupUrls != null && initOptionsModel.warmupUrls.isNotEmpty()) {
             PKHttpClientManager.setHttpProvider("okhttp")
             PKHttpClientManager.warmUp(*initOptionsModel.warmupUrls.toTypedArray())
@@ -212,9 +388,11 @@ class KalturaPlayerRN(
         runOnUiThread {
             if (player == null && getPlayerType() == KalturaPlayer.Type.ott) {
                 player = KalturaOttPlayer.create(context, playerInitOptions)
+                onActivePlayerCreated()
             }
             if (player == null && getPlayerType() == KalturaPlayer.Type.ovp) {
                 player = KalturaOvpPlayer.create(context, playerInitOptions)
+                onActivePlayerCreated()
             }
             // This will let the apps know that Player has been created now
             // app can add the listeners and load the media
@@ -232,7 +410,22 @@ class KalturaPlayerRN(
             player?.let {
                 runOnUiThread {
                     log.d("addPlayerView")
-                    addPlayerViewToRNView(it)
+                    // Surface is destroyed if the player host has been detached from the window meanwhile
+                    val isSurfacePreserved = parkedPlayerView != null && parkedPlayerView === it.playerView &&
+                        it.playerView?.isAttachedToWindow == true
+                    val attachStartedAtMs = SystemClock.elapsedRealtime()
+                    if (isSurfacePreserved) {
+                        unparkPlayerView()
+                        playerViewAdded = true
+                    } else {
+                        addPlayerViewToRNView(it)
+                    }
+                    if (isFrameSnapshotEnabled && !isSurfacePreserved) {
+                        showFrameSnapshot()
+                    }
+                    it.playerView?.let { playerView ->
+                        measurePlayerViewAttachTime(playerView, isSurfacePreserved, attachStartedAtMs)
+                    }
                 }
             }
         }
@@ -243,30 +436,199 @@ class KalturaPlayerRN(
             player?.let {
                 if (playerViewAdded) {
                     log.d("removePlayerView")
-                    it.playerView?.parent?.let { parentView ->
-                        (parentView as ViewGroup).removeAllViews() // Remove all view in order to remove views attached to the player
+                    attachedViewFrameWatcher.cancel()
+                    if (isSurfacePreservedOnDetach && parkPlayerView(it)) {
                         playerViewAdded = false
+                        return@runOnUiThread
+                    }
+                    val removeView = {
+                        it.playerView?.parent?.let { parentView ->
+                            (parentView as ViewGroup).removeAllViews() // Remove all view in order to remove views attached to the player
+                            playerViewAdded = false
+                        }
+                    }
+                    if (isFrameSnapshotEnabled) {
+                        frameSnapshot.capture(it.playerView) { removeView() }
+                    } else {
+                        removeView()
                     }
                 }
             }
         }
     }
 
+    /**
+     * Keep the surface of the player view alive on [removePlayerView]
+     * so [addPlayerView] does not re-initialize the rendering
+     */
+    fun setPreserveSurfaceOnDetach(enabled: Boolean) {
+        log.d("setPreserveSurfaceOnDetach $enabled")
+        runOnUiThread {
+            isSurfacePreservedOnDetach = enabled
+        }
+    }
+
+    /**
+     * Move the player view out of the window, it is kept visible and attached to
+     * the player host. Surface of a SurfaceView is destroyed once its view is hidden
+     * or detached from the window, the one of a TextureView once it is detached.
+     * Surface is not kept if the player host itself is detached.
+     *
+     * @return `false` if the player view is not attached to the window in the player host
+     */
+    private fun parkPlayerView(kalturaPlayer: KalturaPlayer): Boolean {
+        val playerView = kalturaPlayer.playerView ?: return false
+        if (playerView.parent !== kalturaPlayerRNView || !playerView.isAttachedToWindow) {
+            return false
+        }
+        // Right edge ends up left of the window, the player host is within the window
+        playerView.translationX = -(playerView.rootView.width + playerView.width).toFloat()
+        parkedPlayerView = playerView
+        log.d("Player view is parked with its surface")
+        return true
+    }
+
+    private fun unparkPlayerView() {
+        parkedPlayerView?.translationX = 0f
+        parkedPlayerView = null
+    }
+
+    /**
+     * Captured frame is kept over the player view until the player renders
+     * a new frame, the player may be ready or playing before it is drawn.
+     */
+    private fun showFrameSnapshot() {
+        frameSnapshot.show()
+        player?.playerView?.let {
+            snapshotFrameWatcher.watch(it) { frameSnapshot.hide() }
+        }
+    }
+
+    private fun hideFrameSnapshot() {
+        snapshotFrameWatcher.cancel()
+        frameSnapshot.hide()
+    }
+
+    /**
+     * Time till the first new video frame is rendered on the attached player view.
+     * Last frame held by a preserved surface is not counted, it may be stale.
+     */
+    private fun measurePlayerViewAttachTime(playerView: ViewGroup, isSurfacePreserved: Boolean, attachStartedAtMs: Long) {
+        attachedViewFrameWatcher.watch(playerView) {
+            val attachTimeMs = SystemClock.elapsedRealtime() - attachStartedAtMs
+            log.d("Player view is attached in $attachTimeMs ms, isSurfacePreserved: $isSurfacePreserved")
+            sendPlayerEvent(
+                KalturaPlayerEvents.PLAYER_VIEW_ATTACHED,
+                "{ \"isSurfacePreserved\": $isSurfacePreserved, \"attachTimeMs\": $attachTimeMs }"
+            )
+        }
+    }
+
     fun onApplicationPaused() {
         log.d("onApplicationPaused")
         runOnUiThread {
-            player?.onApplicationPaused()
+            bandwidthEstimateStore.save(BandwidthArbiter.estimatedThroughputBps, true)
+            if (isBackgroundAudioOnlyEnabled && player != null) {
+                // Keep playing the audio without downloading and rendering the video
+                isInBackgroundAudioOnly = true
+                enterAudioOnly(AUDIO_ONLY_REASON_BACKGROUND)
+            } else if (isFrameSnapshotEnabled) {
+                // Surface is released on pause hence capture the frame first
+                frameSnapshot.capture(player?.playerView) {
+                    player?.onApplicationPaused()
+                }
+            } else {
+                player?.onApplicationPaused()
+            }
         }
     }
 
     fun onApplicationResumed() {
         log.d("onApplicationResumed")
         runOnUiThread {
+            if (isInBackgroundAudioOnly) {
+                // Player has not been paused, just bring the video back
+                isInBackgroundAudioOnly = false
+                exitAudioOnly(AUDIO_ONLY_REASON_BACKGROUND)
+                kalturaPlayerRNView.reMeasureAndReLayout()
+                return@runOnUiThread
+            }
+            if (isFrameSnapshotEnabled && player != null) {
+                showFrameSnapshot()
+            }
             kalturaPlayerRNView.reMeasureAndReLayout()
             player?.onApplicationResumed()
         }
     }
 
+    /**
+     * Keep playing the audio on [onApplicationPaused] instead of pausing the player.
+     * Video is dropped to the lowest rendition and its surface is hidden till
+     * [onApplicationResumed]. App should keep a foreground service for the
+     * background playback.
+     */
+    fun setBackgroundAudioOnlyEnabled(enabled: Boolean) {
+        log.d("setBackgroundAudioOnlyEnabled $enabled")
+        runOnUiThread {
+            isBackgroundAudioOnlyEnabled = enabled
+        }
+    }
+
+    private fun enterAudioOnly(reason: String) {
+        val activePlayer = player ?: return
+        val isAudioOnly = audioOnlyReasons.isNotEmpty()
+        audioOnlyReasons.add(reason)
+        if (isAudioOnly) {
+            return
+        }
+
+        log.d("Entering audio only, reason: $reason")
+        activePlayer.playerView?.hideVideoSurface()
+        abrConstraints.setCap(ABR_CAP_AUDIO_ONLY, AbrConstraints.Cap(maxVideoBitrate = AUDIO_ONLY_MAX_VIDEO_BITRATE))
+        abrConstraints.apply(activePlayer)
+        // ABR cap does not apply to the manually selected video track
+        val selectedVideoTrackId = selectedTrackIds[VIDEO_TRACK_TYPE]
+        audioOnlyRestoreVideoTrackId = selectedVideoTrackId
+        if (selectedVideoTrackId != null && lowestVideoTrackId != null && selectedVideoTrackId != lowestVideoTrackId) {
+            activePlayer.changeTrack(lowestVideoTrackId)
+        }
+    }
+
+    private fun exitAudioOnly(reason: String) {
+        if (!audioOnlyReasons.remove(reason) || audioOnlyReasons.isNotEmpty()) {
+            return
+        }
+        val activePlayer = player ?: return
+
+        log.d("Exiting audio only, reason: $reason")
+        abrConstraints.setCap(ABR_CAP_AUDIO_ONLY, null)
+        abrConstraints.apply(activePlayer)
+        audioOnlyRestoreVideoTrackId?.let {
+            if (it != lowestVideoTrackId) {
+                activePlayer.changeTrack(it)
+            }
+        }
+        audioOnlyRestoreVideoTrackId = null
+        activePlayer.playerView?.showVideoSurface()
+    }
+
+    /**
+     * Show the last rendered frame until the player renders again
+     * after [onApplicationResumed] or [addPlayerView]
+     */
+    fun setFrameSnapshotConfig(frameSnapshotConfigJson: String?) {
+        log.d("setFrameSnapshotConfig $frameSnapshotConfigJson")
+        val config = getParsedJson(frameSnapshotConfigJson, FrameSnapshotConfig::class.java) ?: FrameSnapshotConfig()
+        runOnUiThread {
+            isFrameSnapshotEnabled = config.enabled
+            frameSnapshot.maxBytes = config.maxBytes
+            frameSnapshot.maxHoldMs = config.maxHoldMs
+            if (!config.enabled) {
+                hideFrameSnapshot()
+            }
+        }
+    }
+
     fun updatePluginConfigs(pluginConfigJson: String?) {
         log.e("updatePluginConfigs")
         if (TextUtils.isEmpty(pluginConfigJson)) {
@@ -318,6 +680,9 @@ class KalturaPlayerRN(
     fun changeTrack(uniqueId: String?) {
         log.d("changeTrack:$uniqueId")
         runOnUiThread {
+            uniqueId?.let {
+                selectedTrackIds[it.substringBefore(':')] = it
+            }
             player?.changeTrack(uniqueId)
         }
     }
@@ -332,9 +697,43 @@ class KalturaPlayerRN(
     fun destroy() {
         log.d("destroy")
         runOnUiThread {
+            bandwidthEstimateStore.save(BandwidthArbiter.estimatedThroughputBps, true)
+            startupStartedAtMs = 0L
+            mainHandler?.removeCallbacks(sendThroughputEstimateRunnable)
+            throughputEstimator.reset()
+            networkRecoveryController.reset()
+            bufferHealthMonitor.reset()
+            mainHandler?.removeCallbacks(sendQoeSummaryRunnable)
+            if (qoeAggregator.isSessionActive) {
+                sendQoeSummary(QoeAggregator.REASON_DESTROY)
+            }
+            qoeAggregator.reset()
+            memoryGovernor.unregister(context)
+            networkMonitor.unregister()
+            deviceStateGovernor.unregister()
             player?.destroy()
             player = null
             playerViewAdded = false
+            DecoderBudgetManager.release(decoderLease)
+            decoderLease = null
+            BandwidthArbiter.unregister(bandwidthParticipant)
+            bandwidthParticipant = null
+            mediaPrefetcher.clear()
+            clearStandbyControllers()
+            standbyPlayerPool.releaseAll()
+            previewPlayerPool.releaseAll()
+            unparkPlayerView()
+            hideFrameSnapshot()
+            attachedViewFrameWatcher.cancel()
+            suspendReasons.clear()
+            selectedTrackIds.clear()
+            resumeStartedAtMs = 0L
+            mainHandler?.removeCallbacks(applyOffscreenModeRunnable)
+            appliedOffscreenMode = null
+            abrConstraints.setCap(ABR_CAP_AUDIO_ONLY, null)
+            abrConstraints.setCap(ABR_CAP_MEMORY, null)
+            audioOnlyReasons.clear()
+            isInBackgroundAudioOnly = false
             mainHandler = null
             removeLifeCycleEventListener(context)
         }
@@ -358,6 +757,8 @@ class KalturaPlayerRN(
         log.d("setKS: $ks")
         runOnUiThread {
             player?.ks = ks
+            // Entries resolved with the previous KS can not be used anymore
+            mediaPrefetcher.clearCache()
         }
     }
 
@@ -380,6 +781,7 @@ class KalturaPlayerRN(
             vol = 1.0f
         }
         runOnUiThread {
+            playerVolume = vol
             player?.setVolume(vol)
         }
     }
@@ -432,7 +834,8 @@ class KalturaPlayerRN(
             val settings = getParsedJson(abrSettings, ABRSettings::class.java)
             settings?.let {
                 runOnUiThread {
-                    player?.updateABRSettings(it)
+                    abrConstraints.setAppAbrSettings(it)
+                    abrConstraints.apply(player)
                 }
             }
         }
@@ -441,7 +844,8 @@ class KalturaPlayerRN(
     fun resetAbrSettings() {
         log.d("resetAbrSettings")
         runOnUiThread {
-            player?.resetABRSettings()
+            abrConstraints.setAppAbrSettings(null)
+            abrConstraints.apply(player)
         }
     }
 
@@ -460,210 +864,1898 @@ class KalturaPlayerRN(
         }
     }
 
-    fun resetLLConfig() {
-        log.d("resetLLConfig")
-        runOnUiThread {
-            player?.updatePKLowLatencyConfig(PKLowLatencyConfig.UNSET)
+    fun resetLLConfig() {
+        log.d("resetLLConfig")
+        runOnUiThread {
+            player?.updatePKLowLatencyConfig(PKLowLatencyConfig.UNSET)
+        }
+    }
+
+    /**
+     * Send the current position of the player
+     * for both Content or Ad playback
+     *
+     * If position is invalid then it send Unset position which is -1
+     */
+    fun getCurrentPosition(promise: Promise) {
+        log.d("getCurrentPosition")
+        player?.let {
+            runOnUiThread {
+                val adController = it.getController(AdController::class.java)
+                if (adController != null && adController.isAdDisplayed) {
+                    sendCallbackToJS(promise, adController.adCurrentPosition / Consts.MILLISECONDS_MULTIPLIER_FLOAT)
+                } else {
+                    sendCallbackToJS(promise, it.currentPosition / Consts.MILLISECONDS_MULTIPLIER_FLOAT)
+                }
+            }
+        }
+    }
+
+    fun isPlaying(promise: Promise) {
+        log.d("isPlaying")
+        player?.let {
+            runOnUiThread {
+                sendCallbackToJS(promise, it.isPlaying)
+            }
+        }
+    }
+
+    fun isLive(promise: Promise) {
+        log.d("isLive")
+        player?.let {
+            runOnUiThread {
+                sendCallbackToJS(promise, it.isLive)
+            }
+        }
+    }
+
+    /**
+     * Get the Information for a thumbnail image by position
+     * if positionMS is not passed current position will be used
+     *
+     * @param positionMs - relevant image for given player position. (optional)
+     */
+    fun requestThumbnailInfo(positionMs: Float, promise: Promise) {
+        log.d("requestThumbnailInfo position is: $positionMs")
+        player?.let {
+            runOnUiThread {
+                val thumbnailInfo: ThumbnailInfo? = player?.getThumbnailInfo(positionMs.toLong())
+                if (thumbnailInfo != null && positionMs >= 0) {
+                    val thumbnailInfoJson =
+                        "{ \"position\": $positionMs, \"thumbnailInfo\": " + gson.toJson(
+                            thumbnailInfo
+                        ) + " }"
+                    sendCallbackToJS(promise, thumbnailInfoJson)
+                } else {
+                    val message = "requestThumbnailInfo: thumbnailInfo is null or position = $positionMs is invalid"
+                    sendCallbackToJS(promise, message, true)
+                }
+            }
+        }
+    }
+
+    fun setLogLevel(logLevel: String) {
+        var level = logLevel
+        log.d("setLogLevel: $level")
+        if (TextUtils.isEmpty(level)) {
+            return
+        }
+        level = level.uppercase(Locale.getDefault())
+        when (level) {
+            "VERBOSE" -> {
+                PKLog.setGlobalLevel(PKLog.Level.verbose)
+                NKLog.setGlobalLevel(NKLog.Level.verbose)
+            }
+            "DEBUG" -> {
+                PKLog.setGlobalLevel(PKLog.Level.debug)
+                NKLog.setGlobalLevel(NKLog.Level.debug)
+            }
+            "WARN" -> {
+                PKLog.setGlobalLevel(PKLog.Level.warn)
+                NKLog.setGlobalLevel(NKLog.Level.warn)
+            }
+            "INFO" -> {
+                PKLog.setGlobalLevel(PKLog.Level.info)
+                NKLog.setGlobalLevel(NKLog.Level.info)
+            }
+            "ERROR" -> {
+                PKLog.setGlobalLevel(PKLog.Level.error)
+                NKLog.setGlobalLevel(NKLog.Level.error)
+            }
+            "OFF" -> {
+                PKLog.setGlobalLevel(PKLog.Level.off)
+                NKLog.setGlobalLevel(NKLog.Level.off)
+            }
+            else -> {
+                PKLog.setGlobalLevel(PKLog.Level.off)
+                NKLog.setGlobalLevel(NKLog.Level.off)
+            }
+        }
+    }
+
+    /**
+     * Load the media from the app. Any active native playlist,
+     * zapping channel list or angles are cleared.
+     */
+    fun load(assetId: String?, mediaAssetJson: String?, promise: Promise) {
+        runOnUiThread {
+            clearStandbyControllers()
+            selectedTrackIds.clear()
+        }
+        loadMedia(assetId, mediaAssetJson, promise)
+    }
+
+    /**
+     * Load the Basic, OVP, OTT media to the player.
+     * In case of error, it sends the Error JSON in promise
+     * otherwise sends back the PKMediaEntry JSON in promise
+     */
+    private fun loadMedia(assetId: String?, mediaAssetJson: String?, promise: Promise) {
+        log.d(
+            "load assetId: " + assetId +
+                    "\n player type: " + getPlayerType() +
+                    "\n , mediaAssetJson:" + mediaAssetJson
+        )
+        if (player == null) {
+            val message = "Player instance is null while loading the media. Hence returning."
+            log.e(message)
+            sendCallbackToJS(promise, message, true)
+            return
+        }
+
+        if (TextUtils.isEmpty(assetId)) {
+            val message = "assetId $assetId is invalid"
+            log.e(message)
+            sendCallbackToJS(promise, message, true)
+            return
+        }
+
+        runOnUiThread {
+            networkRecoveryController.reset()
+            renditionBlacklist.resetSession()
+            bufferHealthMonitor.reset()
+            if (qoeAggregator.isSessionActive) {
+                sendQoeSummary(QoeAggregator.REASON_MEDIA_CHANGED)
+            }
+            qoeAggregator.startSession()
+            seedInitialBitrateEstimate()
+            startupStartedAtMs = SystemClock.elapsedRealtime()
+            startupVideoBitrate = 0L
+        }
+
+        if (getPlayerType() == KalturaPlayer.Type.basic || isBasicPlaybackRequired(assetId)) {
+            var basicMediaAsset = getParsedJson(
+                mediaAssetJson,
+                BasicMediaAsset::class.java
+            )
+
+            if (basicMediaAsset == null) {
+                basicMediaAsset = BasicMediaAsset()
+            }
+
+            val mediaEntry = createMediaEntry(assetId, basicMediaAsset)
+            runOnUiThread {
+                applyBufferProfile(basicMediaAsset.bufferProfile, mediaEntry)
+                applyAutoRenderTarget(player, mediaEntry)
+                if (basicMediaAsset.startPosition > 0) {
+                    player?.setMedia(mediaEntry, basicMediaAsset.startPosition)
+                } else {
+                    player?.setMedia(mediaEntry)
+                }
+                sendCallbackToJS(promise, getLoadedMediaEntryJson(mediaEntry))
+            }
+        } else if (getPlayerType() == KalturaPlayer.Type.ott || getPlayerType() == KalturaPlayer.Type.ovp) {
+            var mediaAsset = getParsedJson(mediaAssetJson, MediaAsset::class.java)
+            if (mediaAsset == null) {
+                mediaAsset = MediaAsset()
+            }
+
+            if (getPlayerType() == KalturaPlayer.Type.ott) {
+                runOnUiThread {
+                    val cachedMediaEntry = mediaPrefetcher.getCachedEntry(mediaAsset.getMediaEntryCacheKey(assetId, player?.ks))
+                    if (cachedMediaEntry != null) {
+                        setCachedMediaEntry(cachedMediaEntry, mediaAsset, promise)
+                        return@runOnUiThread
+                    }
+
+                    val ottMediaOptions = mediaAsset.buildOttMediaOptions(assetId, player?.ks)
+                    player?.loadMedia(ottMediaOptions) { _: MediaOptions?, entry: PKMediaEntry?, error: ErrorElement? ->
+                        if (error != null) {
+                            log.e("ott media load error: " + error.name + " " + error.code + " " + error.message)
+                            sendCallbackToJS(promise, gson.toJson(error), true)
+                        } else {
+                            // Entry is set to the player right after this callback
+                            entry?.let {
+                                applyBufferProfile(mediaAsset.bufferProfile, it)
+                                applyAutoRenderTarget(player, it)
+                            }
+                            log.d("ott media load success name = " + entry?.name + " initialVolume = " + mediaAsset.initialVolume)
+                            sendCallbackToJS(promise, getLoadedMediaEntryJson(entry))
+
+                            if (mediaAsset.initialVolume >= 0 && mediaAsset.initialVolume < 1.0) {
+                                player?.setVolume(mediaAsset.initialVolume)
+                            }
+                            if (mediaAsset.startPosition > 0) {
+                                player?.startPosition = mediaAsset.startPosition
+                            }
+                        }
+                    }
+                }
+            } else {
+                runOnUiThread {
+                    val cachedMediaEntry = mediaPrefetcher.getCachedEntry(mediaAsset.getMediaEntryCacheKey(assetId, player?.ks))
+                    if (cachedMediaEntry != null) {
+                        setCachedMediaEntry(cachedMediaEntry, mediaAsset, promise)
+                        return@runOnUiThread
+                    }
+
+                    val ovpMediaOptions = mediaAsset.buildOvpMediaOptions(assetId, "", player?.ks)
+                    player?.loadMedia(ovpMediaOptions) { _: MediaOptions?, entry: PKMediaEntry?, error: ErrorElement? ->
+                        if (error != null) {
+                            log.e("ovp media load error: " + error.name + " " + error.code + " " + error.message)
+                            sendCallbackToJS(promise, gson.toJson(error), true)
+                        } else {
+                            // Entry is set to the player right after this callback
+                            entry?.let {
+                                applyBufferProfile(mediaAsset.bufferProfile, it)
+                                applyAutoRenderTarget(player, it)
+                            }
+                            log.d("ovp media load success name = " + entry?.name + " initialVolume = " + mediaAsset.initialVolume)
+                            sendCallbackToJS(promise, getLoadedMediaEntryJson(entry))
+                            if (mediaAsset.initialVolume >= 0 && mediaAsset.initialVolume < 1.0) {
+                                player?.setVolume(mediaAsset.initialVolume)
+                            }
+                            if (mediaAsset.startPosition > 0) {
+                                player?.startPosition = mediaAsset.startPosition
+                            }
+                        }
+                    }
+                }
+            }
+        } else {
+            val message = "No Player type defined hence can not load the media. PlayerType ${getPlayerType()}"
+            log.e(message)
+            sendCallbackToJS(promise, message, true)
+        }
+    }
+
+    /**
+     * Payload of the resolved `load` promise, the same for the provider request,
+     * the prefetched entry and the promoted standby player. OVP has always
+     * resolved the JSON encoded once more, it is kept for the existing apps.
+     */
+    private fun getLoadedMediaEntryJson(mediaEntry: PKMediaEntry?): String {
+        val mediaEntryJson = gson.toJson(mediaEntry)
+        return if (playerType == KalturaPlayer.Type.ovp) gson.toJson(mediaEntryJson) else mediaEntryJson
+    }
+
+    /**
+     * Set the media entry which was already resolved by [prefetchMedia]
+     * instead of doing the provider request again
+     */
+    private fun setCachedMediaEntry(mediaEntry: PKMediaEntry, mediaAsset: MediaAsset, promise: Promise) {
+        log.d("Media entry cache hit for ${mediaEntry.id}")
+        applyBufferProfile(mediaAsset.bufferProfile, mediaEntry)
+        applyAutoRenderTarget(player, mediaEntry)
+        if (mediaAsset.startPosition > 0) {
+            player?.setMedia(mediaEntry, mediaAsset.startPosition)
+        } else {
+            player?.setMedia(mediaEntry)
+        }
+        sendCallbackToJS(promise, getLoadedMediaEntryJson(mediaEntry))
+        if (mediaAsset.initialVolume >= 0 && mediaAsset.initialVolume < 1.0) {
+            player?.setVolume(mediaAsset.initialVolume)
+        }
+    }
+
+    /**
+     * Select the buffers for the media and set them to the active player.
+     * Buffers are used once the player engine is created, i.e. on the first load,
+     * later loads on the same player keep the buffers of the first one.
+     *
+     * Static `loadControlBuffers` or `preferredForwardBufferDuration` of the init options
+     * win over the automatic selection, a profile requested for the asset wins over both.
+     */
+    private fun applyBufferProfile(profileName: String?, mediaEntry: PKMediaEntry?) {
+        getProfileBuffers(profileName, mediaEntry)?.let {
+            player?.settings?.setPlayerBuffers(it)
+            bufferHealthMonitor.setPlayerBuffers(it.minPlayerBufferMs.toLong(), it.maxPlayerBufferMs.toLong())
+        }
+    }
+
+    @Nullable
+    private fun getProfileBuffers(profileName: String?, mediaEntry: PKMediaEntry?): LoadControlBuffers? {
+        if (profileName == null && getStaticBuffers(initOptionsModel) != null) {
+            return null
+        }
+        return bufferProfileEngine.select(profileName, mediaEntry, memoryGovernor.tier)
+    }
+
+    /**
+     * Buffers the players are created with from the init options,
+     * `loadControlBuffers` win over `preferredForwardBufferDuration`
+     */
+    @Nullable
+    private fun getStaticBuffers(initOptions: InitOptions?): LoadControlBuffers? {
+        if (initOptions == null) {
+            return null
+        }
+        initOptions.loadControlBuffers?.let {
+            return it
+        }
+        if (initOptions.networkSettings != null && initOptions.networkSettings.preferredForwardBufferDuration > 0) {
+            return LoadControlBuffers().setMaxPlayerBufferMs(initOptions.networkSettings.preferredForwardBufferDuration)
+        }
+        return null
+    }
+
+    /**
+     * Start the ABR of the next load from the persisted bandwidth estimate
+     * of the current network type. It is used until the player is ready,
+     * an initial bitrate passed by the app in the ABR settings wins.
+     */
+    private fun seedInitialBitrateEstimate() {
+        startupBitrateEstimate = bandwidthEstimateStore.getEstimate()
+        abrConstraints.setInitialBitrateEstimate(startupBitrateEstimate)
+        abrConstraints.apply(player)
+    }
+
+    /**
+     * Time from the load till the player is ready, the first frame may be drawn a bit later
+     */
+    private fun onStartupPlayerReady() {
+        val timeToReadyMs = SystemClock.elapsedRealtime() - startupStartedAtMs
+        startupStartedAtMs = 0L
+        abrConstraints.setInitialBitrateEstimate(0L)
+        qoeAggregator.onStartup(timeToReadyMs)
+        sendPlayerEvent(
+            KalturaPlayerEvents.STARTUP_METRICS,
+            "{ \"isBitrateEstimateSeeded\": ${startupBitrateEstimate > 0}, " +
+                    "\"initialBitrateEstimate\": $startupBitrateEstimate, " +
+                    "\"networkType\": \"${NetworkMonitor.getNetworkType(context)}\", " +
+                    "\"timeToReadyMs\": $timeToReadyMs, " +
+                    "\"initialVideoBitrate\": $startupVideoBitrate }"
+        )
+    }
+
+    /**
+     * Configure the throughput aggregates which are sent as `THROUGHPUT_ESTIMATE`
+     */
+    fun setThroughputEstimatorConfig(throughputEstimatorConfigJson: String?) {
+        log.d("setThroughputEstimatorConfig $throughputEstimatorConfigJson")
+        val config = getParsedJson(throughputEstimatorConfigJson, ThroughputEstimatorConfig::class.java)
+            ?: ThroughputEstimatorConfig()
+        runOnUiThread {
+            throughputEstimatorConfig = config
+            throughputEstimator.windowSize = config.windowSize
+            throughputEstimator.ewmaWeight = config.ewmaWeight
+            mainHandler?.removeCallbacks(sendThroughputEstimateRunnable)
+            if (player != null && config.emitIntervalMs > 0) {
+                mainHandler?.postDelayed(sendThroughputEstimateRunnable, config.emitIntervalMs.toLong())
+            }
+        }
+    }
+
+    /**
+     * Configure the session summaries which are sent as `QOE_SUMMARY`
+     */
+    fun setQoeConfig(qoeConfigJson: String?) {
+        log.d("setQoeConfig $qoeConfigJson")
+        val config = getParsedJson(qoeConfigJson, QoeConfig::class.java) ?: QoeConfig()
+        runOnUiThread {
+            qoeConfig = config
+            mainHandler?.removeCallbacks(sendQoeSummaryRunnable)
+            if (player != null && config.emitIntervalMs > 0) {
+                mainHandler?.postDelayed(sendQoeSummaryRunnable, config.emitIntervalMs.toLong())
+            }
+        }
+    }
+
+    fun getQoeSummary(promise: Promise) {
+        runOnUiThread {
+            sendCallbackToJS(promise, qoeAggregator.toJson(QoeAggregator.REASON_QUERY))
+        }
+    }
+
+    private fun sendQoeSummary(reason: String) {
+        if (qoeConfig.enabled) {
+            sendPlayerEvent(KalturaPlayerEvents.QOE_SUMMARY, qoeAggregator.toJson(reason))
+        }
+    }
+
+    fun getThroughputEstimate(promise: Promise) {
+        runOnUiThread {
+            sendCallbackToJS(promise, throughputEstimator.toJson())
+        }
+    }
+
+    /**
+     * Override the named buffer profiles, e.g. `{ "live": { "maxBufferMs": 15000 } }`
+     */
+    fun setBufferProfiles(bufferProfilesJson: String?) {
+        log.d("setBufferProfiles $bufferProfilesJson")
+        val profilesJson = getParsedJson(bufferProfilesJson, JsonObject::class.java) ?: JsonObject()
+        val profiles = HashMap<String, BufferProfile>()
+        try {
+            for ((name, profileJson) in profilesJson.entrySet()) {
+                // Fields missing from the override keep the values of the named profile
+                val mergedJson = gson.toJsonTree(BufferProfileEngine.getDefaultProfile(name) ?: BufferProfile()).asJsonObject
+                for ((field, value) in profileJson.asJsonObject.entrySet()) {
+                    mergedJson.add(field, value)
+                }
+                profiles[name] = gson.fromJson(mergedJson, BufferProfile::class.java)
+            }
+        } catch (exception: JsonSyntaxException) {
+            log.e("Buffer profiles are invalid ${exception.message}")
+            return
+        } catch (exception: IllegalStateException) {
+            // Profile is not a JSON object
+            log.e("Buffer profiles are invalid ${exception.message}")
+            return
+        }
+        runOnUiThread {
+            bufferProfileEngine.setProfiles(profiles)
+        }
+    }
+
+    /**
+     * Resolve the OVP/OTT assets in the background and cache the media entries
+     * so that a later `load` for the same asset is a cache hit.
+     * It does not create any playback.
+     *
+     * Promise is resolved once all the assets are either cached or failed
+     * with the JSON `{ "prefetched": [], "failed": [] }`
+     */
+    fun prefetchMedia(assetIds: List<String>?, mediaAssetJson: String?, promise: Promise) {
+        log.d("prefetchMedia assetIds: $assetIds")
+        if (player == null || playerType == null || getPlayerType() == KalturaPlayer.Type.basic) {
+            val message = "prefetchMedia is only supported for the OVP/OTT Player types and after the setup."
+            log.e(message)
+            sendCallbackToJS(promise, message, true)
+            return
+        }
+
+        val validAssetIds = assetIds?.filter { !TextUtils.isEmpty(it) && !isBasicPlaybackRequired(it) }?.distinct()
+        if (validAssetIds.isNullOrEmpty()) {
+            val message = "prefetchMedia assetIds $assetIds are invalid"
+            log.e(message)
+            sendCallbackToJS(promise, message, true)
+            return
+        }
+
+        val mediaAsset = getParsedJson(mediaAssetJson, MediaAsset::class.java) ?: MediaAsset()
+        runOnUiThread {
+            val requests = validAssetIds.map { assetId ->
+                MediaPrefetcher.PrefetchRequest(
+                    mediaAsset.getMediaEntryCacheKey(assetId, player?.ks),
+                    assetId,
+                    buildMediaOptions(mediaAsset, assetId)
+                )
+            }
+            mediaPrefetcher.prefetch(requests) { prefetched, failed ->
+                sendCallbackToJS(promise, "{ \"prefetched\": ${gson.toJson(prefetched)}, \"failed\": ${gson.toJson(failed)} }")
+            }
+        }
+    }
+
+    @NonNull
+    private fun buildMediaOptions(mediaAsset: MediaAsset, assetId: String): MediaOptions {
+        return if (getPlayerType() == KalturaPlayer.Type.ott) {
+            mediaAsset.buildOttMediaOptions(assetId, player?.ks)
+        } else {
+            mediaAsset.buildOvpMediaOptions(assetId, "", player?.ks)
+        }
+    }
+
+    /**
+     * Resolve the media entry without setting it to any player.
+     * OVP/OTT entries are resolved through the [MediaPrefetcher] cache.
+     * `onResolved` gets `null` entry in case of failure.
+     */
+    private fun resolveMediaEntry(
+        assetId: String,
+        mediaAssetJson: String?,
+        onResolved: (mediaEntry: PKMediaEntry?, startPosition: Long) -> Unit
+    ) {
+        if (getPlayerType() == KalturaPlayer.Type.basic || isBasicPlaybackRequired(assetId)) {
+            val basicMediaAsset = getParsedJson(mediaAssetJson, BasicMediaAsset::class.java) ?: BasicMediaAsset()
+            onResolved(createMediaEntry(assetId, basicMediaAsset), basicMediaAsset.startPosition)
+            return
+        }
+
+        val mediaAsset = getParsedJson(mediaAssetJson, MediaAsset::class.java) ?: MediaAsset()
+        val cacheKey = mediaAsset.getMediaEntryCacheKey(assetId, player?.ks)
+        val cachedMediaEntry = mediaPrefetcher.getCachedEntry(cacheKey)
+        if (cachedMediaEntry != null) {
+            onResolved(cachedMediaEntry, mediaAsset.startPosition)
+            return
+        }
+
+        val request = MediaPrefetcher.PrefetchRequest(cacheKey, assetId, buildMediaOptions(mediaAsset, assetId))
+        mediaPrefetcher.prefetch(listOf(request)) { _, _ ->
+            onResolved(mediaPrefetcher.getCachedEntry(cacheKey), mediaAsset.startPosition)
+        }
+    }
+
+    /**
+     * Create a player with the same init options as the active player.
+     * Ad plugins are never registered on it as there is no view for the ad
+     * container, hence a standby player keeps playing without ads once it is
+     * promoted. It is always preloaded, regardless of the app's `preload`.
+     */
+    @Nullable
+    private fun createStandbyKalturaPlayer(
+        includeAnalyticsPlugins: Boolean,
+        loadControlBuffers: LoadControlBuffers? = null
+    ): KalturaPlayer? {
+        val playerInitOptions = if (getPlayerType() == KalturaPlayer.Type.basic) {
+            PlayerInitOptions()
+        } else {
+            PlayerInitOptions(partnerId)
+        }
+        if (getPlayerType() != KalturaPlayer.Type.basic) {
+            playerInitOptions.setKs(player?.ks)
+        }
+
+        val initOptions = initOptionsModel
+        if (initOptions == null) {
+            playerInitOptions.setPKRequestConfig(PKRequestConfig(true))
+        } else {
+            setCommonPlayerInitOptions(playerInitOptions, initOptions)
+            initOptions.plugins?.let {
+                playerInitOptions.setPluginConfigs(
+                    createOrUpdatePluginConfigs(it.withoutAdPlugins(includeAnalyticsPlugins), true)
+                )
+            }
+        }
+        playerInitOptions.setAutoPlay(false)
+        playerInitOptions.setPreload(true)
+        loadControlBuffers?.let {
+            playerInitOptions.setLoadControlBuffers(it)
+        }
+
+        return when (getPlayerType()) {
+            KalturaPlayer.Type.ott -> KalturaOttPlayer.create(context, playerInitOptions)
+            KalturaPlayer.Type.ovp -> KalturaOvpPlayer.create(context, playerInitOptions)
+            else -> KalturaBasicPlayer.create(context, playerInitOptions)
+        }
+    }
+
+    /**
+     * Prepare a muted standby player without view for the given asset
+     * and keep it in the [standbyPlayerPool].
+     *
+     * `onStatus` is called with the [StandbyPlayer] statuses.
+     */
+    private fun prepareStandbyPlayer(
+        standbyKey: String,
+        assetId: String,
+        mediaAssetJson: String?,
+        includeAnalyticsPlugins: Boolean,
+        onStatus: (standbyPlayer: StandbyPlayer?, status: String) -> Unit
+    ) {
+        if (player == null) {
+            log.e("Player instance is null hence can not prepare the standby player.")
+            onStatus(null, StandbyPlayer.STATUS_FAILED)
+            return
+        }
+
+        if (memoryGovernor.tier >= MemoryGovernor.TIER_LOW) {
+            log.w("Memory is low hence not preparing the standby player $standbyKey")
+            onStatus(null, StandbyPlayer.STATUS_FAILED)
+            return
+        }
+
+        onStatus(null, StandbyPlayer.STATUS_RESOLVING)
+        resolveMediaEntry(assetId, mediaAssetJson) { mediaEntry, startPosition ->
+            if (mediaEntry == null || player == null) {
+                log.e("Standby player can not be prepared for assetId: $assetId")
+                onStatus(null, StandbyPlayer.STATUS_FAILED)
+                return@resolveMediaEntry
+            }
+
+            val standbyDecoderLease = DecoderBudgetManager.acquire(standbyKey, DecoderBudgetManager.Priority.STANDBY) {}
+            if (standbyDecoderLease == null) {
+                sendDecoderThrottledEvent(standbyKey, DecoderBudgetManager.Priority.STANDBY, DecoderBudgetManager.THROTTLE_ACTION_DENIED)
+                onStatus(null, StandbyPlayer.STATUS_FAILED)
+                return@resolveMediaEntry
+            }
+
+            val bufferProfile = getParsedJson(mediaAssetJson, JsonObject::class.java)?.get("bufferProfile")?.takeIf { it.isJsonPrimitive }?.asString
+            val standbyKalturaPlayer = createStandbyKalturaPlayer(includeAnalyticsPlugins, getProfileBuffers(bufferProfile, mediaEntry))
+            if (standbyKalturaPlayer == null) {
+                log.e("Standby player can not be created for assetId: $assetId")
+                DecoderBudgetManager.release(standbyDecoderLease)
+                onStatus(null, StandbyPlayer.STATUS_FAILED)
+                return@resolveMediaEntry
+            }
+
+            val standbyPlayer = StandbyPlayer(standbyKey, assetId, standbyKalturaPlayer)
+            standbyPlayer.decoderLease = standbyDecoderLease
+            standbyDecoderLease.onThrottled = getStandbyThrottledCallback(standbyPlayer)
+            standbyPlayer.bandwidthParticipant = BandwidthArbiter.register(standbyKey, DecoderBudgetManager.Priority.STANDBY) { maxVideoBitrate ->
+                applyBandwidthCap(standbyKalturaPlayer, maxVideoBitrate)
+            }
+            addStandbyPlayerListeners(standbyPlayer, onStatus)
+
+            standbyPlayerPool.add(standbyPlayer)
+            applyAutoRenderTarget(standbyKalturaPlayer, mediaEntry, false)
+            if (startPosition > 0) {
+                standbyKalturaPlayer.setMedia(mediaEntry, startPosition)
+            } else {
+                standbyKalturaPlayer.setMedia(mediaEntry)
+            }
+            standbyKalturaPlayer.setVolume(0f)
+            onStatus(standbyPlayer, StandbyPlayer.STATUS_PREPARING)
+        }
+    }
+
+    /**
+     * Make the given player the active player. Player view and the listeners
+     * are moved from the previous active player.
+     *
+     * @return previous active player, caller should release it
+     */
+    @Nullable
+    private fun swapActivePlayer(newPlayer: KalturaPlayer): KalturaPlayer? {
+        val previousPlayer = player
+        val isPlayerViewAdded = playerViewAdded || previousPlayer == null
+        unparkPlayerView()
+        previousPlayer?.let {
+            it.removeListeners(context)
+            it.removeListeners(internalListenersGroup)
+            it.playerView?.let { playerView ->
+                (playerView.parent as? ViewGroup)?.removeView(playerView)
+            }
+        }
+
+        player = newPlayer
+        playerViewAdded = false
+        reportedDuration = Consts.TIME_UNSET
+        hideFrameSnapshot()
+        attachedViewFrameWatcher.cancel()
+        newPlayer.mediaEntry?.let {
+            // Standby player has been loaded with the render target of its own media
+            applyAutoRenderTarget(newPlayer, it)
+        }
+        selectedTrackIds.clear()
+        // Renditions of the new player are not known till its next tracks update
+        videoRenditionSizes = emptyList()
+        lowestVideoTrackId = null
+        abrConstraints.setCap(ABR_CAP_VIEW_SIZE, null)
+        networkRecoveryController.reset()
+        renditionBlacklist.resetSession()
+        bufferHealthMonitor.reset()
+        // Standby player is prepared with the buffers selected for its media
+        (getProfileBuffers(null, newPlayer.mediaEntry) ?: getStaticBuffers(initOptionsModel) ?: LoadControlBuffers()).let {
+            bufferHealthMonitor.setPlayerBuffers(it.minPlayerBufferMs.toLong(), it.maxPlayerBufferMs.toLong())
+        }
+        if (qoeAggregator.isSessionActive) {
+            sendQoeSummary(QoeAggregator.REASON_MEDIA_CHANGED)
+        }
+        qoeAggregator.startSession()
+        videoCodec = null
+        // Standby player has already started, its startup is not measured
+        startupStartedAtMs = 0L
+        abrConstraints.setInitialBitrateEstimate(0L)
+        if (isPlayerViewAdded) {
+            addPlayerViewToRNView(newPlayer)
+        }
+        addInternalPlayerListeners()
+        if (isKalturaPlayerListenersAdded) {
+            addKalturaPlayerListeners()
+        }
+        newPlayer.setVolume(playerVolume)
+        abrConstraints.apply(newPlayer, true)
+        // New player is not suspended
+        suspendReasons.clear()
+        resumeStartedAtMs = 0L
+        if (audioOnlyReasons.isNotEmpty()) {
+            // Audio only cap is kept in the constraints, hide the video of the new player as well
+            newPlayer.playerView?.hideVideoSurface()
+            audioOnlyRestoreVideoTrackId = null
+        }
+        if (appliedOffscreenMode != null) {
+            // Player view is still off-screen, apply the same mode to the new player
+            appliedOffscreenMode = null
+            applyOffscreenMode()
+        }
+        return previousPlayer
+    }
+
+    /**
+     * Swap the standby player with the active player and play it.
+     * Previous active player is destroyed unless `demotedStandbyKey` is given,
+     * then it is muted and kept playing in the pool as a standby player.
+     *
+     * @return `false` if there is no standby player for the key
+     */
+    private fun promoteStandbyPlayer(
+        standbyKey: String,
+        promise: Promise?,
+        startPlayback: Boolean,
+        demotedStandbyKey: String? = null,
+        demotedAssetId: String? = null,
+        pool: StandbyPlayerPool = standbyPlayerPool
+    ): Boolean {
+        val standbyPlayer = pool.take(standbyKey) ?: return false
+        log.d("Promoting the standby player $standbyKey isReady: ${standbyPlayer.isReady}")
+
+        val isDemoted = demotedStandbyKey != null && demotedAssetId != null
+        if (isDemoted) {
+            // Demoted player keeps playing muted so that it stays in sync
+            player?.setVolume(0f)
+        }
+        val previousDecoderLease = decoderLease
+        decoderLease = standbyPlayer.decoderLease
+        DecoderBudgetManager.updatePriority(decoderLease, DecoderBudgetManager.Priority.FOREGROUND)
+        decoderLease?.onThrottled = {}
+        val previousBandwidthParticipant = bandwidthParticipant
+        bandwidthParticipant = standbyPlayer.bandwidthParticipant
+        val previousPlayer = swapActivePlayer(standbyPlayer.player)
+        BandwidthArbiter.updatePriority(bandwidthParticipant, DecoderBudgetManager.Priority.FOREGROUND)
+        if (startPlayback) {
+            player?.play()
+        }
+        promise?.let {
+            sendCallbackToJS(it, getLoadedMediaEntryJson(player?.mediaEntry))
+        }
+
+        if (previousPlayer != null && isDemoted) {
+            previousPlayer.setVolume(0f)
+            val demotedStandbyPlayer = StandbyPlayer(demotedStandbyKey!!, demotedAssetId!!, previousPlayer)
+            demotedStandbyPlayer.isReady = true
+            demotedStandbyPlayer.readyAtMs = SystemClock.elapsedRealtime()
+            demotedStandbyPlayer.decoderLease = previousDecoderLease
+            DecoderBudgetManager.updatePriority(previousDecoderLease, DecoderBudgetManager.Priority.STANDBY)
+            previousDecoderLease?.onThrottled = getStandbyThrottledCallback(demotedStandbyPlayer)
+            demotedStandbyPlayer.bandwidthParticipant = previousBandwidthParticipant
+            BandwidthArbiter.updatePriority(previousBandwidthParticipant, DecoderBudgetManager.Priority.STANDBY)
+            addStandbyPlayerListeners(demotedStandbyPlayer, null)
+            standbyPlayerPool.add(demotedStandbyPlayer)
+        } else {
+            DecoderBudgetManager.release(previousDecoderLease)
+            BandwidthArbiter.unregister(previousBandwidthParticipant)
+            // Release after the new player has started
+            previousPlayer?.let {
+                mainHandler?.post {
+                    it.destroy()
+                }
+            }
+        }
+        return true
+    }
+
+    /**
+     * Active player is created, it always gets the foreground decoder lease
+     */
+    private fun onActivePlayerCreated() {
+        addInternalPlayerListeners()
+        (getStaticBuffers(initOptionsModel) ?: LoadControlBuffers()).let {
+            bufferHealthMonitor.setPlayerBuffers(it.minPlayerBufferMs.toLong(), it.maxPlayerBufferMs.toLong())
+        }
+        renderMetrics.reset(
+            initOptionsModel?.renderTarget?.let { resolveRenderTarget(it, initOptionsModel) }
+                ?: RenderMetrics.RENDER_TARGET_SURFACE_VIEW
+        )
+        DecoderBudgetManager.release(decoderLease)
+        decoderLease = DecoderBudgetManager.acquire(
+            KalturaPlayerRN::class.java.simpleName,
+            DecoderBudgetManager.Priority.FOREGROUND
+        ) {}
+
+        // Registered for the lifetime of the player, till destroy
+        memoryGovernor.register(context)
+        if (!networkMonitor.register(context)) {
+            log.e("Network changes are not followed, network ABR policy sees an unmetered network")
+        }
+        if (isDeviceStateGovernorEnabled) {
+            deviceStateGovernor.register(context)
+        }
+        abrConstraints.setAppAbrSettings(initOptionsModel?.abrSettings)
+        applyNetworkAbrPolicy()
+        seedInitialBitrateEstimate()
+        mainHandler?.removeCallbacks(sendThroughputEstimateRunnable)
+        if (throughputEstimatorConfig.emitIntervalMs > 0) {
+            mainHandler?.postDelayed(sendThroughputEstimateRunnable, throughputEstimatorConfig.emitIntervalMs.toLong())
+        }
+        mainHandler?.removeCallbacks(sendQoeSummaryRunnable)
+        if (qoeConfig.emitIntervalMs > 0) {
+            mainHandler?.postDelayed(sendQoeSummaryRunnable, qoeConfig.emitIntervalMs.toLong())
+        }
+        val activePlayer = player ?: return
+        BandwidthArbiter.unregister(bandwidthParticipant)
+        bandwidthParticipant = BandwidthArbiter.register(
+            KalturaPlayerRN::class.java.simpleName,
+            DecoderBudgetManager.Priority.FOREGROUND
+        ) { maxVideoBitrate ->
+            applyBandwidthCap(activePlayer, maxVideoBitrate)
+        }
+    }
+
+    /**
+     * Bandwidth cap of the active player goes through the [abrConstraints],
+     * other players are capped directly
+     */
+    private fun applyBandwidthCap(kalturaPlayer: KalturaPlayer, maxVideoBitrate: Long) {
+        if (kalturaPlayer === player) {
+            abrConstraints.setCap(
+                ABR_CAP_BANDWIDTH,
+                if (maxVideoBitrate == AbrConstraints.NO_LIMIT) null else AbrConstraints.Cap(maxVideoBitrate = maxVideoBitrate)
+            )
+            abrConstraints.apply(kalturaPlayer)
+        } else if (maxVideoBitrate == AbrConstraints.NO_LIMIT) {
+            kalturaPlayer.resetABRSettings()
+        } else {
+            kalturaPlayer.updateABRSettings(ABRSettings().setMaxVideoBitrate(maxVideoBitrate))
+        }
+    }
+
+    /**
+     * Listeners of a player in the standby pool, prepared or demoted. Fatal error
+     * releases it from the pool so that it is never promoted.
+     */
+    private fun addStandbyPlayerListeners(
+        standbyPlayer: StandbyPlayer,
+        onStatus: ((standbyPlayer: StandbyPlayer?, status: String) -> Unit)?
+    ) {
+        val standbyKey = standbyPlayer.key
+        standbyPlayer.player.addListener(standbyPlayer, PlayerEvent.bytesLoaded) { event: PlayerEvent.BytesLoaded ->
+            BandwidthArbiter.onBytesLoaded(event.bytesLoaded, event.loadDuration)
+        }
+        standbyPlayer.player.addListener(standbyPlayer, PlayerEvent.stateChanged) { event: PlayerEvent.StateChanged ->
+            if (!standbyPlayer.isReady && event.newState == PlayerState.READY) {
+                standbyPlayer.isReady = true
+                standbyPlayer.readyAtMs = SystemClock.elapsedRealtime()
+                onStatus?.invoke(standbyPlayer, StandbyPlayer.STATUS_READY)
+            }
+        }
+        standbyPlayer.player.addListener(standbyPlayer, PlayerEvent.error) { event: PlayerEvent.Error ->
+            if (event.error.isFatal) {
+                log.e("Standby player $standbyKey failed ${event.error.message}")
+                // Not promoted till it is released
+                standbyPlayer.isReady = false
+                mainHandler?.post {
+                    if (standbyPlayerPool.get(standbyKey) === standbyPlayer) {
+                        standbyPlayerPool.release(standbyKey)
+                    }
+                }
+                onStatus?.invoke(standbyPlayer, StandbyPlayer.STATUS_FAILED)
+            }
+        }
+    }
+
+    /**
+     * Standby player is released once its decoder is needed by
+     * a higher priority player
+     */
+    private fun getStandbyThrottledCallback(
+        standbyPlayer: StandbyPlayer,
+        pool: StandbyPlayerPool = standbyPlayerPool,
+        priority: DecoderBudgetManager.Priority = DecoderBudgetManager.Priority.STANDBY
+    ): () -> Unit {
+        return {
+            standbyPlayer.decoderLease = null
+            if (pool.get(standbyPlayer.key) === standbyPlayer) {
+                pool.release(standbyPlayer.key)
+            }
+            sendDecoderThrottledEvent(standbyPlayer.key, priority, DecoderBudgetManager.THROTTLE_ACTION_RELEASED)
+        }
+    }
+
+    private fun sendDecoderThrottledEvent(name: String, priority: DecoderBudgetManager.Priority, action: String) {
+        sendPlayerEvent(
+            KalturaPlayerEvents.DECODER_THROTTLED,
+            "{ \"id\": \"$name\", \"priority\": \"${priority.name.lowercase()}\", \"action\": \"$action\", " +
+                    "\"activeDecoders\": ${DecoderBudgetManager.activeDecoders}, " +
+                    "\"maxDecoders\": ${DecoderBudgetManager.maxDecoders} }"
+        )
+    }
+
+    /**
+     * Override the detected decoder budget, `0` resets it to the detected one
+     */
+    fun setMaxDecoders(maxDecoders: Int) {
+        log.d("setMaxDecoders $maxDecoders")
+        runOnUiThread {
+            DecoderBudgetManager.setMaxDecoders(maxDecoders)
+        }
+    }
+
+    /**
+     * Share of the measured throughput which is left for the foreground player,
+     * the rest is split between the standby and preview players
+     */
+    fun setForegroundBandwidthShare(share: Float) {
+        log.d("setForegroundBandwidthShare $share")
+        runOnUiThread {
+            BandwidthArbiter.foregroundShare = share.toDouble()
+        }
+    }
+
+    fun getLayoutPassStats(promise: Promise) {
+        runOnUiThread {
+            sendCallbackToJS(
+                promise,
+                "{ \"performedLayoutPasses\": ${kalturaPlayerRNView.performedLayoutPasses}, " +
+                        "\"skippedLayoutPasses\": ${kalturaPlayerRNView.skippedLayoutPasses} }"
+            )
+        }
+    }
+
+    fun getDecoderBudget(promise: Promise) {
+        runOnUiThread {
+            sendCallbackToJS(
+                promise,
+                "{ \"activeDecoders\": ${DecoderBudgetManager.activeDecoders}, " +
+                        "\"maxDecoders\": ${DecoderBudgetManager.maxDecoders} }"
+            )
+        }
+    }
+
+    /**
+     * Configure what happens with the player once its view is off-screen
+     */
+    fun setOffscreenConfig(offscreenConfigJson: String?) {
+        log.d("setOffscreenConfig $offscreenConfigJson")
+        val config = getParsedJson(offscreenConfigJson, OffscreenConfig::class.java) ?: OffscreenConfig()
+        runOnUiThread {
+            restoreFromOffscreenMode()
+            offscreenConfig = config
+            kalturaPlayerRNView.setMinVisibleRatio(config.minVisibleRatio)
+            if (!kalturaPlayerRNView.isVisibleOnScreen) {
+                mainHandler?.removeCallbacks(applyOffscreenModeRunnable)
+                mainHandler?.postDelayed(applyOffscreenModeRunnable, config.hiddenDelayMs.toLong())
+            }
+        }
+    }
+
+    private fun onPlayerViewVisibilityChanged(isVisible: Boolean, visibleRatio: Float) {
+        log.d("onPlayerViewVisibilityChanged isVisible: $isVisible visibleRatio: $visibleRatio")
+        mainHandler?.removeCallbacks(applyOffscreenModeRunnable)
+        if (isVisible) {
+            restoreFromOffscreenMode()
+        } else if (offscreenConfig.mode != OffscreenConfig.MODE_NONE) {
+            mainHandler?.postDelayed(applyOffscreenModeRunnable, offscreenConfig.hiddenDelayMs.toLong())
+        }
+
+        if (player != null) {
+            sendPlayerEvent(
+                KalturaPlayerEvents.PLAYER_VISIBILITY_CHANGED,
+                "{ \"isVisible\": $isVisible, \"visibleRatio\": $visibleRatio, \"offscreenMode\": \"${offscreenConfig.mode}\" }"
+            )
+        }
+    }
+
+    /**
+     * `pauseRendering` hides the video surface, `audioOnly` also drops to the lowest
+     * video rendition and `suspend` releases the player resources and its decoder
+     * like [onApplicationPaused].
+     */
+    private fun applyOffscreenMode() {
+        val activePlayer = player ?: return
+        val mode = offscreenConfig.mode
+        if (appliedOffscreenMode != null || mode == OffscreenConfig.MODE_NONE || kalturaPlayerRNView.isVisibleOnScreen) {
+            return
+        }
+
+        log.d("Player view is off-screen, applying $mode")
+        when (mode) {
+            OffscreenConfig.MODE_PAUSE_RENDERING -> {
+                activePlayer.playerView?.hideVideoSurface()
+            }
+            OffscreenConfig.MODE_AUDIO_ONLY -> {
+                enterAudioOnly(AUDIO_ONLY_REASON_OFFSCREEN)
+            }
+            OffscreenConfig.MODE_SUSPEND -> {
+                suspendPlayer(SUSPEND_REASON_OFFSCREEN)
+            }
+            else -> {
+                log.e("Unknown off-screen mode $mode")
+                return
+            }
+        }
+        appliedOffscreenMode = mode
+    }
+
+    private fun restoreFromOffscreenMode() {
+        val mode = appliedOffscreenMode ?: return
+        appliedOffscreenMode = null
+        val activePlayer = player ?: return
+
+        log.d("Player view is visible, restoring from $mode")
+        when (mode) {
+            OffscreenConfig.MODE_PAUSE_RENDERING -> {
+                activePlayer.playerView?.showVideoSurface()
+            }
+            OffscreenConfig.MODE_AUDIO_ONLY -> {
+                exitAudioOnly(AUDIO_ONLY_REASON_OFFSCREEN)
+            }
+            OffscreenConfig.MODE_SUSPEND -> {
+                resumePlayer(SUSPEND_REASON_OFFSCREEN)
+            }
+        }
+    }
+
+    /**
+     * Suspend the player from the app, see [suspendPlayer]
+     */
+    fun suspend() {
+        log.d("suspend")
+        runOnUiThread {
+            suspendPlayer(SUSPEND_REASON_APP)
+        }
+    }
+
+    fun resume() {
+        log.d("resume")
+        runOnUiThread {
+            resumePlayer(SUSPEND_REASON_APP)
+        }
+    }
+
+    /**
+     * Suspend and resume the player automatically when the host activity
+     * is paused and resumed
+     */
+    fun setAutoSuspendEnabled(enabled: Boolean) {
+        log.d("setAutoSuspendEnabled $enabled")
+        runOnUiThread {
+            isAutoSuspendEnabled = enabled
+            if (!enabled) {
+                resumePlayer(SUSPEND_REASON_HOST)
+            }
+        }
+    }
+
+    /**
+     * Release the codecs and the surface of the active player and its decoder lease.
+     * Media entry and the playback position are kept by the player, the app's track
+     * selections and the bandwidth estimate are restored on [resumePlayer].
+     */
+    private fun suspendPlayer(reason: String) {
+        val activePlayer = player ?: return
+        val isSuspended = suspendReasons.isNotEmpty()
+        suspendReasons.add(reason)
+        if (isSuspended) {
+            return
+        }
+
+        log.d("Suspending the player, reason: $reason")
+        suspendedPositionMs = if (activePlayer.isLive) Consts.TIME_UNSET else activePlayer.currentPosition
+        resumeStartedAtMs = 0L
+        abrConstraints.setInitialBitrateEstimate(BandwidthArbiter.estimatedThroughputBps)
+        val releasePlayer = {
+            activePlayer.onApplicationPaused()
+            DecoderBudgetManager.release(decoderLease)
+            decoderLease = null
+            sendSuspendStatusEvent(PLAYER_SUSPEND_STATUS_SUSPENDED, reason, 0L)
+        }
+        if (isFrameSnapshotEnabled) {
+            frameSnapshot.capture(activePlayer.playerView) { releasePlayer() }
+        } else {
+            releasePlayer()
+        }
+    }
+
+    private fun resumePlayer(reason: String) {
+        if (!suspendReasons.remove(reason) || suspendReasons.isNotEmpty()) {
+            return
+        }
+        val activePlayer = player ?: return
+
+        log.d("Resuming the player, reason: $reason")
+        decoderLease = DecoderBudgetManager.acquire(
+            KalturaPlayerRN::class.java.simpleName,
+            DecoderBudgetManager.Priority.FOREGROUND
+        ) {}
+        // Bandwidth estimate from before the suspend is the initial estimate
+        abrConstraints.apply(activePlayer)
+        if (isFrameSnapshotEnabled) {
+            showFrameSnapshot()
+        }
+        kalturaPlayerRNView.reMeasureAndReLayout()
+        resumeStartedAtMs = SystemClock.elapsedRealtime()
+        isTrackRestorePending = selectedTrackIds.isNotEmpty()
+        activePlayer.onApplicationResumed()
+    }
+
+    private fun onResumedPlayerReady() {
+        val activePlayer = player ?: return
+        if (suspendedPositionMs >= 0 && Math.abs(activePlayer.currentPosition - suspendedPositionMs) > RESUME_POSITION_TOLERANCE_MS) {
+            activePlayer.seekTo(suspendedPositionMs)
+        }
+        abrConstraints.setInitialBitrateEstimate(0L)
+        val resumeTimeMs = SystemClock.elapsedRealtime() - resumeStartedAtMs
+        resumeStartedAtMs = 0L
+        sendSuspendStatusEvent(PLAYER_SUSPEND_STATUS_RESUMED, null, resumeTimeMs)
+    }
+
+    private fun sendSuspendStatusEvent(status: String, reason: String?, resumeTimeMs: Long) {
+        sendPlayerEvent(
+            KalturaPlayerEvents.PLAYER_SUSPEND_STATUS,
+            "{ \"status\": \"$status\", \"reason\": ${if (reason != null) "\"$reason\"" else "null"}, " +
+                    "\"resumeTimeMs\": $resumeTimeMs }"
+        )
+    }
+
+    /**
+     * Cap the video size to the smallest rendition which covers the player view.
+     * Cap is lifted once the view is enlarged, e.g. on fullscreen.
+     */
+    fun setViewSizeAbrCapEnabled(enabled: Boolean) {
+        log.d("setViewSizeAbrCapEnabled $enabled")
+        runOnUiThread {
+            isViewSizeAbrCapEnabled = enabled
+            updateViewSizeAbrCap()
+        }
+    }
+
+    private fun updateViewSizeAbrCap() {
+        val cap = if (isViewSizeAbrCapEnabled && viewWidth > 0 && viewHeight > 0) {
+            // Renditions share the aspect ratio so the one which fills either dimension covers the view
+            videoRenditionSizes.firstOrNull { (width, height) -> width >= viewWidth || height >= viewHeight }?.let { (width, height) ->
+                AbrConstraints.Cap(maxVideoWidth = width, maxVideoHeight = height)
+            }
+        } else {
+            null
+        }
+
+        val currentCap = abrConstraints.getCap(ABR_CAP_VIEW_SIZE)
+        if (cap?.maxVideoWidth == currentCap?.maxVideoWidth && cap?.maxVideoHeight == currentCap?.maxVideoHeight) {
+            return
+        }
+        log.d("View size ${viewWidth}x$viewHeight, video size cap ${cap?.maxVideoWidth}x${cap?.maxVideoHeight}")
+        abrConstraints.setCap(ABR_CAP_VIEW_SIZE, cap)
+        abrConstraints.apply(player)
+    }
+
+    /**
+     * Release more on every tier of the memory pressure. Player buffers are fixed
+     * once the player is created hence the active player is capped to a lower
+     * resolution on the critical tier, which shrinks its buffers in bytes.
+     */
+    override fun onMemoryTierChanged(tier: Int, trimLevel: Int) {
+        val actions = ArrayList<String>()
+        if (tier >= MemoryGovernor.TIER_MODERATE) {
+            mediaPrefetcher.clearCache()
+            previewPlayerPool.releaseAll()
+            actions.add("mediaEntryCacheCleared")
+            actions.add("previewsReleased")
+            if (!frameSnapshot.isShown) {
+                // Drop the captured frame which is kept for the resume
+                frameSnapshot.hide()
+            }
+        }
+        if (tier >= MemoryGovernor.TIER_LOW) {
+            standbyPlayerPool.releaseAll()
+            actions.add("standbyPlayersReleased")
+        }
+
+        val isQualityDegraded = tier >= MemoryGovernor.TIER_CRITICAL
+        abrConstraints.setCap(
+            ABR_CAP_MEMORY,
+            if (isQualityDegraded) AbrConstraints.Cap(maxVideoHeight = MEMORY_CRITICAL_MAX_VIDEO_HEIGHT) else null
+        )
+        abrConstraints.apply(player)
+        if (isQualityDegraded) {
+            actions.add("qualityDegraded")
+        }
+
+        log.d("Memory tier $tier, trim level $trimLevel, actions $actions")
+        sendPlayerEvent(
+            KalturaPlayerEvents.MEMORY_PRESSURE,
+            "{ \"tier\": $tier, \"trimLevel\": $trimLevel, \"isQualityDegraded\": $isQualityDegraded, " +
+                    "\"actions\": ${gson.toJson(actions)} }"
+        )
+    }
+
+    override fun onNetworkChanged(networkType: String, isMetered: Boolean) {
+        applyNetworkAbrPolicy()
+        if (networkType == NetworkMonitor.NETWORK_TYPE_NONE) {
+            networkRecoveryController.onNetworkLost()
+        } else {
+            networkRecoveryController.onNetworkRegained()
+        }
+    }
+
+    override fun sendNetworkRecoveryEvent(eventName: String, payload: String) {
+        sendPlayerEvent(eventName, payload)
+    }
+
+    fun setNetworkRecoveryConfig(networkRecoveryConfigJson: String?) {
+        log.d("setNetworkRecoveryConfig $networkRecoveryConfigJson")
+        val config = getParsedJson(networkRecoveryConfigJson, NetworkRecoveryConfig::class.java) ?: NetworkRecoveryConfig()
+        runOnUiThread {
+            networkRecoveryController.reset()
+            networkRecoveryController.config = config
+        }
+    }
+
+    /**
+     * Cap the video and audio bitrate and the buffers by the current transport
+     */
+    fun setNetworkAbrPolicy(networkAbrPolicyJson: String?) {
+        log.d("setNetworkAbrPolicy $networkAbrPolicyJson")
+        val policy = getParsedJson(networkAbrPolicyJson, NetworkAbrPolicy::class.java) ?: NetworkAbrPolicy()
+        runOnUiThread {
+            networkAbrPolicy = policy
+            applyNetworkAbrPolicy()
+        }
+    }
+
+    /**
+     * Video caps are applied right away through the ABR settings. Audio bitrate
+     * cap is used on the next track selection and the buffer cap by the next
+     * created player, see [applyBufferProfile].
+     */
+    private fun applyNetworkAbrPolicy() {
+        val policy = networkAbrPolicy
+        val networkType = networkMonitor.networkType
+        val isMetered = networkMonitor.isMetered
+        var cap: AbrConstraints.Cap? = null
+        var maxAudioBitrate = initOptionsModel?.maxAudioBitrate ?: Int.MAX_VALUE
+        var maxBufferMs = Int.MAX_VALUE
+        if (policy.enabled && isMetered) {
+            cap = AbrConstraints.Cap(maxVideoBitrate = policy.meteredMaxVideoBitrate, maxVideoHeight = policy.meteredMaxVideoHeight)
+            maxAudioBitrate = minOf(maxAudioBitrate, policy.meteredMaxAudioBitrate)
+            maxBufferMs = policy.meteredMaxBufferMs
+        } else if (policy.enabled && networkType == NetworkMonitor.NETWORK_TYPE_CELLULAR) {
+            cap = AbrConstraints.Cap(maxVideoBitrate = policy.cellularMaxVideoBitrate, maxVideoHeight = policy.cellularMaxVideoHeight)
+            maxAudioBitrate = minOf(maxAudioBitrate, policy.cellularMaxAudioBitrate)
+            maxBufferMs = policy.cellularMaxBufferMs
+        }
+
+        log.d("Network $networkType metered: $isMetered, video cap: ${cap != null} maxAudioBitrate: $maxAudioBitrate")
+        bufferProfileEngine.networkMaxBufferMs = maxBufferMs
+        player?.settings?.setMaxAudioBitrate(maxAudioBitrate)
+        abrConstraints.setCap(ABR_CAP_NETWORK, cap)
+        abrConstraints.apply(player)
+    }
+
+    /**
+     * Disabled by default. Governor follows the device state from the player
+     * creation till [destroy] once enabled.
+     */
+    fun setDeviceStateGovernorEnabled(enabled: Boolean) {
+        log.d("setDeviceStateGovernorEnabled $enabled")
+        runOnUiThread {
+            isDeviceStateGovernorEnabled = enabled
+            if (enabled && player != null) {
+                deviceStateGovernor.register(context)
+            } else if (!enabled) {
+                deviceStateGovernor.unregister()
+            }
+        }
+    }
+
+    override fun isPlaybackActive(): Boolean {
+        return player?.isPlaying == true
+    }
+
+    /**
+     * Frame rate is not exposed on the video tracks hence the high frame rate
+     * renditions are avoided by capping the resolution, and the bitrate on the highest level
+     */
+    override fun onDeviceStateLevelChanged(level: Int, reason: String) {
+        val cap = when (level) {
+            DeviceStateGovernor.LEVEL_LOW -> AbrConstraints.Cap(maxVideoHeight = 720L)
+            DeviceStateGovernor.LEVEL_MEDIUM -> AbrConstraints.Cap(maxVideoHeight = 540L)
+            DeviceStateGovernor.LEVEL_HIGH -> AbrConstraints.Cap(
+                maxVideoBitrate = DEVICE_STATE_HIGH_MAX_VIDEO_BITRATE,
+                maxVideoHeight = 360L
+            )
+            else -> null
+        }
+        abrConstraints.setCap(ABR_CAP_DEVICE_STATE, cap)
+        abrConstraints.apply(player)
+
+        sendPlayerEvent(
+            KalturaPlayerEvents.DEVICE_STATE_QUALITY,
+            "{ \"level\": $level, \"reason\": \"$reason\", " +
+                    "\"maxVideoHeight\": ${cap?.maxVideoHeight ?: -1L}, " +
+                    "\"thermalStatus\": ${deviceStateGovernor.thermalStatus}, " +
+                    "\"isPowerSaveMode\": ${deviceStateGovernor.isPowerSaveMode}, " +
+                    "\"droppedFramesPerSecond\": ${deviceStateGovernor.droppedFramesPerSecond} }"
+        )
+    }
+
+    fun setRenditionBlacklistConfig(renditionBlacklistConfigJson: String?) {
+        log.d("setRenditionBlacklistConfig $renditionBlacklistConfigJson")
+        val config = getParsedJson(renditionBlacklistConfigJson, RenditionBlacklistConfig::class.java)
+            ?: RenditionBlacklistConfig()
+        runOnUiThread {
+            isRenditionBlacklistEnabled = config.enabled
+            renditionBlacklist.maxDroppedFramesPerSecond = config.maxDroppedFramesPerSecond
+            renditionBlacklist.minObservationMs = config.minObservationMs
+            renditionBlacklist.maxAgeMs = config.maxAgeMs
+            updateRenditionBlacklistCap()
+        }
+    }
+
+    /**
+     * Forget the persisted blacklist of this device
+     */
+    fun clearRenditionBlacklist() {
+        log.d("clearRenditionBlacklist")
+        runOnUiThread {
+            renditionBlacklist.clear()
+            updateRenditionBlacklistCap()
+        }
+    }
+
+    private fun onRenditionBlacklisted() {
+        val blacklistedHeight = renditionBlacklist.getBlacklistedHeight(videoCodec)
+        updateRenditionBlacklistCap()
+        sendPlayerEvent(
+            KalturaPlayerEvents.RENDITION_BLACKLISTED,
+            "{ \"codec\": \"${videoCodec ?: ""}\", \"height\": $blacklistedHeight, " +
+                    "\"droppedFramesPerSecond\": ${renditionBlacklist.droppedFramesPerSecond} }"
+        )
+    }
+
+    /**
+     * ABR can only cap the height, not per codec, hence the blacklist of the
+     * codec of the media caps all its renditions. Mixed codec media is capped
+     * by the codec of its first video rendition.
+     */
+    private fun updateRenditionBlacklistCap() {
+        val blacklistedHeight = if (isRenditionBlacklistEnabled && videoCodec != null) {
+            renditionBlacklist.getBlacklistedHeight(videoCodec)
+        } else {
+            AbrConstraints.NO_LIMIT
+        }
+        abrConstraints.setCap(
+            ABR_CAP_RENDITIONS,
+            if (blacklistedHeight == AbrConstraints.NO_LIMIT) null else AbrConstraints.Cap(maxVideoHeight = blacklistedHeight - 1)
+        )
+        abrConstraints.apply(player)
+    }
+
+    fun setBufferHealthConfig(bufferHealthConfigJson: String?) {
+        log.d("setBufferHealthConfig $bufferHealthConfigJson")
+        val config = getParsedJson(bufferHealthConfigJson, BufferHealthConfig::class.java) ?: BufferHealthConfig()
+        runOnUiThread {
+            isBufferHealthEnabled = config.enabled
+            bufferHealthMonitor.stallHorizonMs = config.stallHorizonMs
+            bufferHealthMonitor.emitIntervalMs = config.emitIntervalMs
+            if (!config.enabled) {
+                bufferHealthMonitor.reset()
+            }
+        }
+    }
+
+    override fun onBufferHealthCapChanged(maxVideoBitrate: Long) {
+        abrConstraints.setCap(
+            ABR_CAP_BUFFER_HEALTH,
+            if (maxVideoBitrate == AbrConstraints.NO_LIMIT) null else AbrConstraints.Cap(maxVideoBitrate = maxVideoBitrate)
+        )
+        abrConstraints.apply(player)
+    }
+
+    override fun sendBufferHealthEvent(payload: String) {
+        sendPlayerEvent(KalturaPlayerEvents.BUFFER_HEALTH, payload)
+    }
+
+    fun getMemoryUsage(promise: Promise) {
+        runOnUiThread {
+            val runtime = Runtime.getRuntime()
+            sendCallbackToJS(
+                promise,
+                "{ \"memoryTier\": ${memoryGovernor.tier}, " +
+                        "\"javaHeapUsedBytes\": ${runtime.totalMemory() - runtime.freeMemory()}, " +
+                        "\"javaHeapMaxBytes\": ${runtime.maxMemory()}, " +
+                        "\"nativeHeapAllocatedBytes\": ${Debug.getNativeHeapAllocatedSize()}, " +
+                        "\"mediaEntryCacheEntries\": ${mediaPrefetcher.cachedEntries}, " +
+                        "\"standbyPlayers\": ${standbyPlayerPool.size}, " +
+                        "\"previewPlayers\": ${previewPlayerPool.size}, " +
+                        "\"frameSnapshotBytes\": ${frameSnapshot.byteCount} }"
+            )
+        }
+    }
+
+    fun setFeedPreviewConfig(feedPreviewConfigJson: String?) {
+        log.d("setFeedPreviewConfig $feedPreviewConfigJson")
+        val config = getParsedJson(feedPreviewConfigJson, FeedPreviewConfig::class.java) ?: FeedPreviewConfig()
+        runOnUiThread {
+            feedPreviewConfig = config
+            previewPlayerPool.maxStandbyPlayers = config.maxPreviewPlayers
+        }
+    }
+
+    /**
+     * Start a muted feed preview in the `KalturaPreviewView` with the given `previewId`.
+     * Preview player has no Ad plugins, capped resolution and minimal buffers.
+     * Oldest preview is released once [FeedPreviewConfig.maxPreviewPlayers] is exceeded.
+     */
+    fun startPreview(previewId: String, assetId: String?, mediaAssetJson: String?, promise: Promise) {
+        log.d("startPreview previewId: $previewId assetId: $assetId")
+        runOnUiThread {
+            val previewView = kalturaPreviewViewManager?.getPreviewView(previewId)
+            if (player == null || previewView == null || assetId.isNullOrEmpty()) {
+                val message = "Preview can not be started, player or preview view for $previewId is not available"
+                log.e(message)
+                sendCallbackToJS(promise, message, true)
+                return@runOnUiThread
+            }
+
+            if (memoryGovernor.tier >= MemoryGovernor.TIER_MODERATE) {
+                sendCallbackToJS(promise, "Preview can not be started due to the memory pressure", true)
+                return@runOnUiThread
+            }
+
+            val previewKey = PREVIEW_KEY_PREFIX + previewId
+            previewPlayerPool.release(previewKey)
+            val startedAtMs = SystemClock.elapsedRealtime()
+            resolveMediaEntry(assetId, mediaAssetJson) { mediaEntry, startPosition ->
+                val previewPlayer = if (mediaEntry != null && player != null) {
+                    createPreviewPlayer(previewKey, assetId, startedAtMs)
+                } else {
+                    null
+                }
+
+                if (mediaEntry == null || previewPlayer == null) {
+                    sendPreviewStatusEvent(previewId, assetId, FEED_PREVIEW_STATUS_FAILED, startedAtMs)
+                    sendCallbackToJS(promise, "Preview can not be started for assetId: $assetId", true)
+                    return@resolveMediaEntry
+                }
+
+                previewPlayerPool.add(previewPlayer)
+                val previewKalturaPlayer = previewPlayer.player
+                previewKalturaPlayer.setPlayerView(FrameLayout.LayoutParams.MATCH_PARENT, FrameLayout.LayoutParams.MATCH_PARENT)
+                previewView.addView(previewKalturaPlayer.playerView)
+                previewKalturaPlayer.setVolume(0f)
+                applyPreviewAbrSettings(previewKalturaPlayer, previewPlayer.bandwidthParticipant?.bitrateCap ?: AbrConstraints.NO_LIMIT)
+                if (startPosition > 0) {
+                    previewKalturaPlayer.setMedia(mediaEntry, startPosition)
+                } else {
+                    previewKalturaPlayer.setMedia(mediaEntry)
+                }
+                previewKalturaPlayer.play()
+                sendPreviewStatusEvent(previewId, assetId, FEED_PREVIEW_STATUS_STARTED, startedAtMs)
+                sendCallbackToJS(promise, true)
+            }
+        }
+    }
+
+    fun stopPreview(previewId: String) {
+        log.d("stopPreview previewId: $previewId")
+        runOnUiThread {
+            previewPlayerPool.release(PREVIEW_KEY_PREFIX + previewId)
+        }
+    }
+
+    /**
+     * Hand off the feed preview to the full mode. Preview player becomes the active
+     * player and keeps playing from the same position, unmuted and without
+     * the preview caps. Previous active player is destroyed.
+     */
+    fun promotePreview(previewId: String, promise: Promise) {
+        log.d("promotePreview previewId: $previewId")
+        runOnUiThread {
+            val previewKey = PREVIEW_KEY_PREFIX + previewId
+            if (previewPlayerPool.get(previewKey) == null) {
+                sendCallbackToJS(promise, "There is no preview for $previewId", true)
+                return@runOnUiThread
+            }
+            clearStandbyControllers()
+            promoteStandbyPlayer(previewKey, promise, true, pool = previewPlayerPool)
+        }
+    }
+
+    @Nullable
+    private fun createPreviewPlayer(previewKey: String, assetId: String, startedAtMs: Long): StandbyPlayer? {
+        val previewDecoderLease = DecoderBudgetManager.acquire(previewKey, DecoderBudgetManager.Priority.PREVIEW) {}
+        if (previewDecoderLease == null) {
+            sendDecoderThrottledEvent(previewKey, DecoderBudgetManager.Priority.PREVIEW, DecoderBudgetManager.THROTTLE_ACTION_DENIED)
+            return null
+        }
+
+        val loadControlBuffers = LoadControlBuffers()
+            .setMinPlayerBufferMs(feedPreviewConfig.minBufferMs)
+            .setMaxPlayerBufferMs(feedPreviewConfig.maxBufferMs)
+            .setMinBufferAfterInteractionMs(feedPreviewConfig.bufferForPlaybackMs)
+            .setMinBufferAfterReBufferMs(feedPreviewConfig.bufferForPlaybackMs)
+        val previewKalturaPlayer = createStandbyKalturaPlayer(feedPreviewConfig.includeAnalyticsPlugins, loadControlBuffers)
+        if (previewKalturaPlayer == null) {
+            DecoderBudgetManager.release(previewDecoderLease)
+            return null
+        }
+
+        val previewId = previewKey.removePrefix(PREVIEW_KEY_PREFIX)
+        val previewPlayer = StandbyPlayer(previewKey, assetId, previewKalturaPlayer)
+        previewPlayer.decoderLease = previewDecoderLease
+        previewDecoderLease.onThrottled = getStandbyThrottledCallback(previewPlayer, previewPlayerPool, DecoderBudgetManager.Priority.PREVIEW)
+        previewPlayer.bandwidthParticipant = BandwidthArbiter.register(previewKey, DecoderBudgetManager.Priority.PREVIEW) { maxVideoBitrate ->
+            if (previewKalturaPlayer === player) {
+                applyBandwidthCap(previewKalturaPlayer, maxVideoBitrate)
+            } else {
+                applyPreviewAbrSettings(previewKalturaPlayer, maxVideoBitrate)
+            }
+        }
+
+        previewKalturaPlayer.addListener(previewPlayer, PlayerEvent.playing) { _: PKEvent? ->
+            if (!previewPlayer.isReady) {
+                previewPlayer.isReady = true
+                previewPlayer.readyAtMs = SystemClock.elapsedRealtime()
+                sendPreviewStatusEvent(previewId, assetId, FEED_PREVIEW_STATUS_PLAYING, startedAtMs)
+            }
+        }
+        previewKalturaPlayer.addListener(previewPlayer, PlayerEvent.ended) { _: PKEvent? ->
+            if (feedPreviewConfig.loop) {
+                mainHandler?.post {
+                    previewKalturaPlayer.replay()
+                }
+            }
+        }
+        previewKalturaPlayer.addListener(previewPlayer, PlayerEvent.bytesLoaded) { event: PlayerEvent.BytesLoaded ->
+            BandwidthArbiter.onBytesLoaded(event.bytesLoaded, event.loadDuration)
+        }
+        previewKalturaPlayer.addListener(previewPlayer, PlayerEvent.error) { event: PlayerEvent.Error ->
+            if (event.error.isFatal) {
+                log.e("Preview $previewId failed ${event.error.message}")
+                mainHandler?.post {
+                    if (previewPlayerPool.get(previewKey) === previewPlayer) {
+                        previewPlayerPool.release(previewKey)
+                    }
+                }
+                sendPreviewStatusEvent(previewId, assetId, FEED_PREVIEW_STATUS_FAILED, startedAtMs)
+            }
+        }
+        return previewPlayer
+    }
+
+    private fun applyPreviewAbrSettings(previewKalturaPlayer: KalturaPlayer, bandwidthCap: Long) {
+        val abrSettings = ABRSettings()
+        abrSettings.setMaxVideoHeight(feedPreviewConfig.maxVideoHeight)
+        abrSettings.setMaxVideoBitrate(minOf(feedPreviewConfig.maxVideoBitrate, bandwidthCap))
+        previewKalturaPlayer.updateABRSettings(abrSettings)
+    }
+
+    private fun sendPreviewStatusEvent(previewId: String, assetId: String, status: String, startedAtMs: Long) {
+        sendPlayerEvent(
+            KalturaPlayerEvents.FEED_PREVIEW_STATUS,
+            "{ \"previewId\": \"$previewId\", \"assetId\": \"$assetId\", \"status\": \"$status\", " +
+                    "\"elapsedMs\": ${SystemClock.elapsedRealtime() - startedAtMs} }"
+        )
+    }
+
+    /**
+     * Set the native playlist. Call [playPlaylistItem] to start it.
+     */
+    fun setPlaylist(playlistItemsJson: String?, playlistConfigJson: String?) {
+        log.d("setPlaylist")
+        val playlistItems = getParsedJson(playlistItemsJson, Array<PlaylistItem>::class.java)
+        if (playlistItems == null || playlistItems.isEmpty() || playlistItems.any { TextUtils.isEmpty(it.id) }) {
+            log.e("Playlist items are invalid $playlistItemsJson")
+            return
+        }
+        val playlistConfig = getParsedJson(playlistConfigJson, PlaylistConfig::class.java)
+        runOnUiThread {
+            clearStandbyControllers()
+            playlistController.setPlaylist(playlistItems.toList(), playlistConfig)
+        }
+    }
+
+    fun playPlaylistItem(index: Int, promise: Promise) {
+        log.d("playPlaylistItem $index")
+        runOnUiThread {
+            playlistController.playItem(index, promise)
+        }
+    }
+
+    fun playNextPlaylistItem(promise: Promise) {
+        log.d("playNextPlaylistItem")
+        runOnUiThread {
+            playlistController.playNext(promise)
+        }
+    }
+
+    fun playPreviousPlaylistItem(promise: Promise) {
+        log.d("playPreviousPlaylistItem")
+        runOnUiThread {
+            playlistController.playPrevious(promise)
+        }
+    }
+
+    fun clearPlaylist() {
+        log.d("clearPlaylist")
+        runOnUiThread {
+            playlistController.clear()
+        }
+    }
+
+    override fun loadPlaylistItem(item: PlaylistItem, promise: Promise?) {
+        loadMedia(item.id, item.getMediaAssetJson(), promise ?: PromiseImpl(null, null))
+    }
+
+    override fun preloadPlaylistItem(standbyKey: String, index: Int, item: PlaylistItem, includeAnalyticsPlugins: Boolean) {
+        val preloadStartedAtMs = SystemClock.elapsedRealtime()
+        prepareStandbyPlayer(standbyKey, item.id, item.getMediaAssetJson(), includeAnalyticsPlugins) { standbyPlayer, status ->
+            val bufferedPosition = (standbyPlayer?.player?.bufferedPosition ?: 0L) / Consts.MILLISECONDS_MULTIPLIER_FLOAT
+            sendPlayerEvent(
+                KalturaPlayerEvents.PLAYLIST_PRELOAD_STATUS,
+                "{ \"index\": $index, \"id\": \"${item.id}\", \"status\": \"$status\", " +
+                        "\"elapsedMs\": ${SystemClock.elapsedRealtime() - preloadStartedAtMs}, " +
+                        "\"bufferedPosition\": $bufferedPosition }"
+            )
+        }
+    }
+
+    override fun promoteStandbyPlayer(standbyKey: String, promise: Promise?): Boolean {
+        return promoteStandbyPlayer(standbyKey, promise, true)
+    }
+
+    override fun releaseStandbyPlayers(keyPrefix: String) {
+        standbyPlayerPool.releaseAll(keyPrefix)
+    }
+
+    override fun sendPlaylistEvent(eventName: String, payload: String) {
+        sendPlayerEvent(eventName, payload)
+    }
+
+    /**
+     * Set the live channel list for zapping. Call [zapToChannel] to start it.
+     */
+    fun setZappingChannels(channelsJson: String?, zappingConfigJson: String?) {
+        log.d("setZappingChannels")
+        val channels = getParsedJson(channelsJson, Array<PlaylistItem>::class.java)
+        if (channels == null || channels.isEmpty() || channels.any { TextUtils.isEmpty(it.id) }) {
+            log.e("Zapping channels are invalid $channelsJson")
+            return
+        }
+        val zappingConfig = getParsedJson(zappingConfigJson, ZappingConfig::class.java)
+        runOnUiThread {
+            clearStandbyControllers()
+            zappingController.setChannels(channels.toList(), zappingConfig)
+        }
+    }
+
+    fun zapToChannel(index: Int, promise: Promise) {
+        log.d("zapToChannel $index")
+        runOnUiThread {
+            zappingController.zapTo(index, promise)
+        }
+    }
+
+    fun zapNextChannel(promise: Promise) {
+        log.d("zapNextChannel")
+        runOnUiThread {
+            zappingController.zapNext(promise)
+        }
+    }
+
+    fun zapPreviousChannel(promise: Promise) {
+        log.d("zapPreviousChannel")
+        runOnUiThread {
+            zappingController.zapPrevious(promise)
+        }
+    }
+
+    fun clearZappingChannels() {
+        log.d("clearZappingChannels")
+        runOnUiThread {
+            zappingController.clear()
+        }
+    }
+
+    override fun loadZappingChannel(channel: PlaylistItem, promise: Promise?) {
+        loadMedia(channel.id, channel.getMediaAssetJson(), promise ?: PromiseImpl(null, null))
+    }
+
+    override fun prepareZappingChannel(standbyKey: String, index: Int, channel: PlaylistItem) {
+        val prepareStartedAtMs = SystemClock.elapsedRealtime()
+        prepareStandbyPlayer(standbyKey, channel.id, channel.getMediaAssetJson(), false) { _, status ->
+            sendPlayerEvent(
+                KalturaPlayerEvents.ZAPPING_STANDBY_STATUS,
+                "{ \"index\": $index, \"id\": \"${channel.id}\", \"status\": \"$status\", " +
+                        "\"elapsedMs\": ${SystemClock.elapsedRealtime() - prepareStartedAtMs}, " +
+                        "\"standbyPlayers\": ${standbyPlayerPool.size} }"
+            )
+        }
+    }
+
+    override fun getStandbyPlayer(standbyKey: String): StandbyPlayer? {
+        return standbyPlayerPool.get(standbyKey)
+    }
+
+    /**
+     * Paused live standby player falls behind the live edge,
+     * move it back so that the buffered data stays at the live edge.
+     */
+    override fun refreshStandbyPlayer(standbyKey: String) {
+        standbyPlayerPool.get(standbyKey)?.let {
+            if (it.isReady && it.player.isLive) {
+                it.player.seekToLiveDefaultPosition()
+            }
+        }
+    }
+
+    override fun releaseStandbyPlayer(standbyKey: String) {
+        standbyPlayerPool.release(standbyKey)
+    }
+
+    override fun setMaxStandbyPlayers(maxStandbyPlayers: Int) {
+        standbyPlayerPool.maxStandbyPlayers = maxStandbyPlayers
+    }
+
+    override fun sendZappingEvent(eventName: String, payload: String) {
+        sendPlayerEvent(eventName, payload)
+    }
+
+    /**
+     * Set the camera angles of the current event. Angle at `currentIndex`
+     * should be already loaded on the player, call [switchAngle] to switch.
+     */
+    fun setAngles(anglesJson: String?, currentIndex: Int, multiAngleConfigJson: String?) {
+        log.d("setAngles currentIndex: $currentIndex")
+        val angles = getParsedJson(anglesJson, Array<PlaylistItem>::class.java)
+        if (angles == null || angles.isEmpty() || angles.any { TextUtils.isEmpty(it.id) }) {
+            log.e("Angles are invalid $anglesJson")
+            return
+        }
+        val multiAngleConfig = getParsedJson(multiAngleConfigJson, MultiAngleConfig::class.java)
+        runOnUiThread {
+            clearStandbyControllers()
+            multiAngleController.setAngles(angles.toList(), currentIndex, multiAngleConfig)
+        }
+    }
+
+    fun switchAngle(index: Int, promise: Promise) {
+        log.d("switchAngle $index")
+        runOnUiThread {
+            multiAngleController.switchTo(index, promise)
+        }
+    }
+
+    fun clearAngles() {
+        log.d("clearAngles")
+        runOnUiThread {
+            multiAngleController.clear()
+        }
+    }
+
+    override fun getActivePlayer(): KalturaPlayer? {
+        return player
+    }
+
+    override fun loadAngle(angle: PlaylistItem, positionMs: Long, promise: Promise?) {
+        val mediaAsset = angle.mediaAsset?.deepCopy() ?: JsonObject()
+        if (positionMs > 0) {
+            mediaAsset.addProperty("startPosition", positionMs / Consts.MILLISECONDS_MULTIPLIER)
         }
+        loadMedia(angle.id, mediaAsset.toString(), promise ?: PromiseImpl(null, null))
     }
 
-    /**
-     * Send the current position of the player
-     * for both Content or Ad playback
-     *
-     * If position is invalid then it send Unset position which is -1
-     */
-    fun getCurrentPosition(promise: Promise) {
-        log.d("getCurrentPosition")
-        player?.let {
-            runOnUiThread {
-                val adController = it.getController(AdController::class.java)
-                if (adController != null && adController.isAdDisplayed) {
-                    sendCallbackToJS(promise, adController.adCurrentPosition / Consts.MILLISECONDS_MULTIPLIER_FLOAT)
-                } else {
-                    sendCallbackToJS(promise, it.currentPosition / Consts.MILLISECONDS_MULTIPLIER_FLOAT)
-                }
-            }
+    override fun prepareAngle(standbyKey: String, index: Int, angle: PlaylistItem, positionMs: Long) {
+        val mediaAsset = angle.mediaAsset?.deepCopy() ?: JsonObject()
+        if (positionMs > 0) {
+            mediaAsset.addProperty("startPosition", positionMs / Consts.MILLISECONDS_MULTIPLIER)
+        }
+        prepareStandbyPlayer(standbyKey, angle.id, mediaAsset.toString(), false) { _, status ->
+            sendPlayerEvent(
+                KalturaPlayerEvents.ANGLE_STANDBY_STATUS,
+                "{ \"index\": $index, \"id\": \"${angle.id}\", \"status\": \"$status\" }"
+            )
         }
     }
 
-    fun isPlaying(promise: Promise) {
-        log.d("isPlaying")
-        player?.let {
-            runOnUiThread {
-                sendCallbackToJS(promise, it.isPlaying)
-            }
+    override fun switchToStandbyAngle(
+        standbyKey: String,
+        previousStandbyKey: String,
+        previousAngleId: String,
+        promise: Promise?
+    ): Boolean {
+        val startPlayback = player?.isPlaying ?: true
+        val playbackRate = player?.playbackRate ?: 1f
+        if (!promoteStandbyPlayer(standbyKey, promise, startPlayback, previousStandbyKey, previousAngleId)) {
+            return false
+        }
+        // Hot angle may be running at a corrected rate or ahead of a pause
+        player?.playbackRate = playbackRate
+        if (!startPlayback) {
+            player?.pause()
+        }
+        return true
+    }
+
+    override fun sendAngleEvent(eventName: String, payload: String) {
+        sendPlayerEvent(eventName, payload)
+    }
+
+    override fun resolveWithCurrentMedia(promise: Promise?) {
+        promise?.let {
+            sendCallbackToJS(it, getLoadedMediaEntryJson(player?.mediaEntry))
         }
     }
 
-    fun isLive(promise: Promise) {
-        log.d("isLive")
-        player?.let {
-            runOnUiThread {
-                sendCallbackToJS(promise, it.isLive)
-            }
+    override fun rejectPromise(promise: Promise?, message: String) {
+        promise?.let {
+            sendCallbackToJS(it, message, true)
         }
     }
 
     /**
-     * Get the Information for a thumbnail image by position
-     * if positionMS is not passed current position will be used
-     *
-     * @param positionMs - relevant image for given player position. (optional)
+     * Playlist, zapping and multi-angle share the standby players,
+     * only one of them can be active at a time
      */
-    fun requestThumbnailInfo(positionMs: Float, promise: Promise) {
-        log.d("requestThumbnailInfo position is: $positionMs")
-        player?.let {
-            runOnUiThread {
-                val thumbnailInfo: ThumbnailInfo? = player?.getThumbnailInfo(positionMs.toLong())
-                if (thumbnailInfo != null && positionMs >= 0) {
-                    val thumbnailInfoJson =
-                        "{ \"position\": $positionMs, \"thumbnailInfo\": " + gson.toJson(
-                            thumbnailInfo
-                        ) + " }"
-                    sendCallbackToJS(promise, thumbnailInfoJson)
-                } else {
-                    val message = "requestThumbnailInfo: thumbnailInfo is null or position = $positionMs is invalid"
-                    sendCallbackToJS(promise, message, true)
-                }
-            }
-        }
+    private fun clearStandbyControllers() {
+        playlistController.clear()
+        zappingController.clear()
+        multiAngleController.clear()
     }
 
-    fun setLogLevel(logLevel: String) {
-        var level = logLevel
-        log.d("setLogLevel: $level")
-        if (TextUtils.isEmpty(level)) {
-            return
-        }
-        level = level.uppercase(Locale.getDefault())
-        when (level) {
-            "VERBOSE" -> {
-                PKLog.setGlobalLevel(PKLog.Level.verbose)
-                NKLog.setGlobalLevel(NKLog.Level.verbose)
-            }
-            "DEBUG" -> {
-                PKLog.setGlobalLevel(PKLog.Level.debug)
-                NKLog.setGlobalLevel(NKLog.Level.debug)
-            }
-            "WARN" -> {
-                PKLog.setGlobalLevel(PKLog.Level.warn)
-                NKLog.setGlobalLevel(NKLog.Level.warn)
-            }
-            "INFO" -> {
-                PKLog.setGlobalLevel(PKLog.Level.info)
-                NKLog.setGlobalLevel(NKLog.Level.info)
-            }
-            "ERROR" -> {
-                PKLog.setGlobalLevel(PKLog.Level.error)
-                NKLog.setGlobalLevel(NKLog.Level.error)
-            }
-            "OFF" -> {
-                PKLog.setGlobalLevel(PKLog.Level.off)
-                NKLog.setGlobalLevel(NKLog.Level.off)
+    /**
+     * `auto` selects the SurfaceView for the secure surface, tunneled playback
+     * or DRM content as TextureView can not render them, otherwise the TextureView
+     * which can be animated, clipped and transformed like any other view.
+     */
+    private fun resolveRenderTarget(
+        renderTarget: String,
+        initOptions: InitOptions?,
+        mediaEntry: PKMediaEntry? = player?.mediaEntry
+    ): String {
+        if (renderTarget != RenderMetrics.RENDER_TARGET_AUTO) {
+            return renderTarget
+        }
+        val isSurfaceViewRequired = initOptions?.secureSurface == true ||
+                initOptions?.isTunneledAudioPlayback == true ||
+                initOptions?.drmSettings != null ||
+                mediaEntry?.sources?.any { it.hasDrmParams() } == true
+        return if (isSurfaceViewRequired) RenderMetrics.RENDER_TARGET_SURFACE_VIEW else RenderMetrics.RENDER_TARGET_TEXTURE_VIEW
+    }
+
+    /**
+     * Switch the render target of the active player. Current media is
+     * reloaded at the same position as the video view is created on prepare.
+     */
+    fun setRenderTarget(renderTarget: String, promise: Promise) {
+        log.d("setRenderTarget $renderTarget")
+        runOnUiThread {
+            val activePlayer = player
+            if (activePlayer == null) {
+                sendCallbackToJS(promise, "Player instance is null while setting the render target", true)
+                return@runOnUiThread
             }
-            else -> {
-                PKLog.setGlobalLevel(PKLog.Level.off)
-                NKLog.setGlobalLevel(NKLog.Level.off)
+
+            val resolvedRenderTarget = resolveRenderTarget(renderTarget, initOptionsModel)
+            initOptionsModel?.renderTarget = renderTarget
+            activePlayer.settings.useTextureView(resolvedRenderTarget == RenderMetrics.RENDER_TARGET_TEXTURE_VIEW)
+            if (resolvedRenderTarget != renderMetrics.renderTarget) {
+                renderMetrics.reset(resolvedRenderTarget)
+                activePlayer.mediaEntry?.let { mediaEntry ->
+                    val isPlaying = activePlayer.isPlaying
+                    val positionMs = if (activePlayer.isLive) 0L else activePlayer.currentPosition
+                    activePlayer.setMedia(mediaEntry, positionMs / Consts.MILLISECONDS_MULTIPLIER)
+                    if (isPlaying) {
+                        activePlayer.play()
+                    }
+                }
             }
+            sendCallbackToJS(promise, resolvedRenderTarget)
         }
     }
 
     /**
-     * Load the Basic, OVP, OTT media to the player.
-     * In case of error, it sends the Error JSON in promise
-     * otherwise sends back the PKMediaEntry JSON in promise
+     * Resolve `auto` again once the media entry of the load is known, the player
+     * is created before it hence its DRM is not known then. Video view is set up
+     * on the load so it is applied to this media.
      */
-    fun load(assetId: String?, mediaAssetJson: String?, promise: Promise) {
-        log.d(
-            "load assetId: " + assetId +
-                    "\n player type: " + getPlayerType() +
-                    "\n , mediaAssetJson:" + mediaAssetJson
-        )
-        if (player == null) {
-            val message = "Player instance is null while loading the media. Hence returning."
-            log.e(message)
-            sendCallbackToJS(promise, message, true)
+    private fun applyAutoRenderTarget(kalturaPlayer: KalturaPlayer?, mediaEntry: PKMediaEntry, isActivePlayer: Boolean = true) {
+        val initOptions = initOptionsModel ?: return
+        if (kalturaPlayer == null || initOptions.renderTarget != RenderMetrics.RENDER_TARGET_AUTO) {
             return
         }
-
-        if (TextUtils.isEmpty(assetId)) {
-            val message = "assetId $assetId is invalid"
-            log.e(message)
-            sendCallbackToJS(promise, message, true)
-            return
+        val resolvedRenderTarget = resolveRenderTarget(RenderMetrics.RENDER_TARGET_AUTO, initOptions, mediaEntry)
+        kalturaPlayer.settings.useTextureView(resolvedRenderTarget == RenderMetrics.RENDER_TARGET_TEXTURE_VIEW)
+        if (isActivePlayer && resolvedRenderTarget != renderMetrics.renderTarget) {
+            renderMetrics.reset(resolvedRenderTarget)
         }
+    }
 
-        if (getPlayerType() == KalturaPlayer.Type.basic || isBasicPlaybackRequired(assetId)) {
-            var basicMediaAsset = getParsedJson(
-                mediaAssetJson,
-                BasicMediaAsset::class.java
-            )
-
-            if (basicMediaAsset == null) {
-                basicMediaAsset = BasicMediaAsset()
-            }
-
-            val mediaEntry = createMediaEntry(assetId, basicMediaAsset)
-            runOnUiThread {
-                if (basicMediaAsset.startPosition > 0) {
-                    player?.setMedia(mediaEntry, basicMediaAsset.startPosition)
-                } else {
-                    player?.setMedia(mediaEntry)
-                }
-                sendCallbackToJS(promise, gson.toJson(mediaEntry))
-            }
-        } else if (getPlayerType() == KalturaPlayer.Type.ott || getPlayerType() == KalturaPlayer.Type.ovp) {
-            var mediaAsset = getParsedJson(mediaAssetJson, MediaAsset::class.java)
-            if (mediaAsset == null) {
-                mediaAsset = MediaAsset()
-            }
-
-            if (getPlayerType() == KalturaPlayer.Type.ott) {
-                runOnUiThread {
-                    val ottMediaOptions = mediaAsset.buildOttMediaOptions(assetId, player?.ks)
-                    player?.loadMedia(ottMediaOptions) { _: MediaOptions?, entry: PKMediaEntry?, error: ErrorElement? ->
-                        if (error != null) {
-                            log.e("ott media load error: " + error.name + " " + error.code + " " + error.message)
-                            sendCallbackToJS(promise, gson.toJson(error), true)
-                        } else {
-                            log.d("ott media load success name = " + entry?.name + " initialVolume = " + mediaAsset.initialVolume)
-                            sendCallbackToJS(promise, gson.toJson(entry))
-
-                            if (mediaAsset.initialVolume >= 0 && mediaAsset.initialVolume < 1.0) {
-                                player?.setVolume(mediaAsset.initialVolume)
-                            }
-                            if (mediaAsset.startPosition > 0) {
-                                player?.startPosition = mediaAsset.startPosition
-                            }
-                        }
-                    }
-                }
-            } else {
-                runOnUiThread {
-                    val ovpMediaOptions = mediaAsset.buildOvpMediaOptions(assetId, "", player?.ks)
-
-                    player?.loadMedia(ovpMediaOptions) { _: MediaOptions?, entry: PKMediaEntry?, error: ErrorElement? ->
-                        if (error != null) {
-                            log.e("ovp media load error: " + error.name + " " + error.code + " " + error.message)
-                            sendCallbackToJS(promise, gson.toJson(error), true)
-                        } else {
-                            log.d("ovp media load success name = " + entry?.name + " initialVolume = " + mediaAsset.initialVolume)
-                            sendCallbackToJS(promise, gson.toJson(gson.toJson(entry)))
-                            if (mediaAsset.initialVolume >= 0 && mediaAsset.initialVolume < 1.0) {
-                                player?.setVolume(mediaAsset.initialVolume)
-                            }
-                            if (mediaAsset.startPosition > 0) {
-                                player?.startPosition = mediaAsset.startPosition
-                            }
-                        }
-                    }
-                }
-            }
-        } else {
-            val message = "No Player type defined hence can not load the media. PlayerType ${getPlayerType()}"
-            log.e(message)
-            sendCallbackToJS(promise, message, true)
+    fun getRenderMetrics(promise: Promise) {
+        runOnUiThread {
+            sendCallbackToJS(promise, renderMetrics.toJson())
         }
     }
 
@@ -697,17 +2789,17 @@ class KalturaPlayerRN(
         playerInitOptions.setIsVideoViewHidden(initOptionsModel.isVideoViewHidden)
         playerInitOptions.forceSinglePlayerEngine(initOptionsModel.forceSinglePlayerEngine)
         playerInitOptions.setTunneledAudioPlayback(initOptionsModel.isTunneledAudioPlayback)
+        initOptionsModel.renderTarget?.let {
+            val renderTarget = resolveRenderTarget(it, initOptionsModel)
+            playerInitOptions.setUseTextureView(renderTarget == RenderMetrics.RENDER_TARGET_TEXTURE_VIEW)
+        }
         playerInitOptions.setMaxAudioBitrate(initOptionsModel.maxAudioBitrate)
         playerInitOptions.setMaxAudioChannelCount(initOptionsModel.maxAudioChannelCount)
         playerInitOptions.setHandleAudioBecomingNoisy(initOptionsModel.handleAudioBecomingNoisyEnabled)
         playerInitOptions.setHandleAudioFocus(initOptionsModel.handleAudioFocus)
         playerInitOptions.setMulticastSettings(initOptionsModel.multicastSettings)
-        if (initOptionsModel.networkSettings != null && initOptionsModel.networkSettings.preferredForwardBufferDuration > 0) {
-            playerInitOptions.setLoadControlBuffers(
-                LoadControlBuffers().setMaxPlayerBufferMs(
-                    initOptionsModel.networkSettings.preferredForwardBufferDuration
-                )
-            )
+        getStaticBuffers(initOptionsModel)?.let {
+            playerInitOptions.setLoadControlBuffers(it)
         }
         if ((initOptionsModel.trackSelection != null) && (initOptionsModel.trackSelection.audioLanguage != null) && (initOptionsModel.trackSelection.audioMode != null)) {
             playerInitOptions.setAudioLanguage(
@@ -763,9 +2855,6 @@ class KalturaPlayerRN(
             }
             playerInitOptions.setAudioCodecSettings(audioCodecSettings)
         }
-        initOptionsModel.loadControlBuffers?.let {
-            playerInitOptions.setLoadControlBuffers(it)
-        }
         initOptionsModel.vrSettings?.let {
             playerInitOptions.setVRSettings(it)
         }
@@ -1201,20 +3290,178 @@ class KalturaPlayerRN(
     }
 
     override fun onHostResume() {
-        // This is being controlled by the RN FE apps
+        // This is being controlled by the RN FE apps unless the auto suspend is enabled
+        if (isAutoSuspendEnabled) {
+            runOnUiThread {
+                if (isInBackgroundAudioOnly) {
+                    isInBackgroundAudioOnly = false
+                    exitAudioOnly(AUDIO_ONLY_REASON_BACKGROUND)
+                    kalturaPlayerRNView.reMeasureAndReLayout()
+                }
+                resumePlayer(SUSPEND_REASON_HOST)
+            }
+        }
     }
 
     override fun onHostPause() {
-        // This is being controlled by the RN FE apps
+        // This is being controlled by the RN FE apps unless the auto suspend is enabled
+        if (isAutoSuspendEnabled) {
+            runOnUiThread {
+                if (isBackgroundAudioOnlyEnabled && player != null) {
+                    // Suspending would stop the audio, only the video is dropped instead
+                    if (!isInBackgroundAudioOnly) {
+                        isInBackgroundAudioOnly = true
+                        enterAudioOnly(AUDIO_ONLY_REASON_BACKGROUND)
+                    }
+                } else {
+                    suspendPlayer(SUSPEND_REASON_HOST)
+                }
+            }
+        }
     }
 
     override fun onHostDestroy() {
         // This should also be controlled by the RN FE apps
     }
 
+    /**
+     * Listeners used by the native helpers. Unlike [addKalturaPlayerListeners],
+     * these are not controlled by the RN FE apps.
+     */
+    private fun addInternalPlayerListeners() {
+        player?.addListener(internalListenersGroup, PlayerEvent.stateChanged) { event: PlayerEvent.StateChanged ->
+            mediaPrefetcher.setForegroundBuffering(
+                event.newState == PlayerState.LOADING || event.newState == PlayerState.BUFFERING
+            )
+            if (event.newState == PlayerState.READY && resumeStartedAtMs != 0L) {
+                onResumedPlayerReady()
+            }
+            if (event.newState == PlayerState.READY && startupStartedAtMs != 0L) {
+                onStartupPlayerReady()
+            }
+            networkRecoveryController.onPlayerStateChanged(event.newState)
+            qoeAggregator.onPlayerStateChanged(event.newState)
+            if (event.newState == PlayerState.BUFFERING) {
+                renditionBlacklist.onPlayingChanged(false)
+            }
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.error) { event: PlayerEvent.Error ->
+            qoeAggregator.onPlayerError(event.error.errorType.name, event.error.isFatal)
+            if (event.error.isFatal) {
+                networkRecoveryController.onPlayerError(event.error.errorType == PKPlayerErrorType.SOURCE_ERROR)
+            }
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.bytesLoaded) { event: PlayerEvent.BytesLoaded ->
+            BandwidthArbiter.onBytesLoaded(event.bytesLoaded, event.loadDuration)
+            bandwidthEstimateStore.save(BandwidthArbiter.estimatedThroughputBps)
+            throughputEstimator.onBytesLoaded(event.trackType, event.bytesLoaded, event.loadDuration)
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.playbackInfoUpdated) { event: PlayerEvent.PlaybackInfoUpdated ->
+            if (startupStartedAtMs != 0L) {
+                startupVideoBitrate = event.playbackInfo.videoBitrate
+            }
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.outputBufferCountUpdate) { event: PlayerEvent.OutputBufferCountUpdate ->
+            renderMetrics.onOutputBufferCountUpdate(event.skippedOutputBufferCount, event.renderedOutputBufferCount)
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.videoFramesDropped) { event: PlayerEvent.VideoFramesDropped ->
+            renderMetrics.onVideoFramesDropped(event.droppedVideoFrames)
+            deviceStateGovernor.onVideoFramesDropped(event.droppedVideoFrames)
+            qoeAggregator.onVideoFramesDropped(event.droppedVideoFrames)
+            // Frames dropped under thermal throttling or battery saver do not tell what the decoder can do,
+            // neither do the ones of the quality degraded by the governor
+            if (isRenditionBlacklistEnabled && deviceStateGovernor.level == DeviceStateGovernor.LEVEL_NONE &&
+                !DeviceStateGovernor.isThrottled(context) &&
+                renditionBlacklist.onVideoFramesDropped(event.droppedVideoFrames)) {
+                onRenditionBlacklisted()
+            }
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.videoTrackChanged) { event: PlayerEvent.VideoTrackChanged ->
+            val lowestHeight = videoRenditionSizes.firstOrNull()?.second ?: 0L
+            renditionBlacklist.onVideoTrackChanged(
+                event.newTrack.codecName,
+                event.newTrack.height.toLong(),
+                event.newTrack.height <= lowestHeight
+            )
+            bufferHealthMonitor.currentVideoBitrate = event.newTrack.bitrate
+            qoeAggregator.onVideoTrackChanged(event.newTrack.bitrate)
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.pause) { _: PKEvent? ->
+            renditionBlacklist.onPlayingChanged(false)
+            qoeAggregator.onPlayingChanged(false)
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.seeking) { _: PlayerEvent.Seeking ->
+            qoeAggregator.onSeeking()
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.seeked) { _: PKEvent? ->
+            qoeAggregator.onSeeked()
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.tracksAvailable) { event: PlayerEvent.TracksAvailable ->
+            if (isTrackRestorePending) {
+                isTrackRestorePending = false
+                for (uniqueId in selectedTrackIds.values) {
+                    player?.changeTrack(uniqueId)
+                }
+            }
+            lowestVideoTrackId = event.tracksInfo.videoTracks
+                .filter { !it.isAdaptive }
+                .minByOrNull { it.bitrate }
+                ?.uniqueId
+            videoRenditionSizes = event.tracksInfo.videoTracks
+                .filter { !it.isAdaptive && it.width > 0 && it.height > 0 }
+                .map { Pair(it.width.toLong(), it.height.toLong()) }
+                .sortedBy { it.second }
+            updateViewSizeAbrCap()
+            videoCodec = event.tracksInfo.videoTracks.firstOrNull { !it.isAdaptive }?.codecName
+            updateRenditionBlacklistCap()
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.playheadUpdated) { event: PlayerEvent.PlayheadUpdated ->
+            playlistController.onPlayheadUpdated(event.position, event.duration)
+            networkRecoveryController.onPlayheadUpdated(event.position)
+            attachedViewFrameWatcher.onPlayheadUpdated(event.position, player?.isPlaying == true)
+            snapshotFrameWatcher.onPlayheadUpdated(event.position, player?.isPlaying == true)
+            if (isBufferHealthEnabled) {
+                bufferHealthMonitor.onPlayheadUpdated(event.position, event.bufferPosition)
+            }
+            multiAngleController.onPlayheadUpdated()
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.playing) { _: PKEvent? ->
+            renditionBlacklist.onPlayingChanged(true)
+            qoeAggregator.onPlayingChanged(true)
+            playlistController.onPlaying()
+            zappingController.onPlaying()
+            multiAngleController.onPlaying()
+        }
+
+        player?.addListener(internalListenersGroup, PlayerEvent.ended) { _: PKEvent? ->
+            if (qoeAggregator.isSessionActive) {
+                // Session ends here so the next load does not send it again as `mediaChanged`
+                qoeAggregator.endSession()
+                sendQoeSummary(QoeAggregator.REASON_ENDED)
+            }
+            // Active player can be swapped here so let the event dispatching finish first
+            mainHandler?.post {
+                playlistController.onEnded()
+            }
+        }
+    }
+
     fun removeKalturaPlayerListeners() {
         runOnUiThread {
             player?.removeListeners(this)
+            isKalturaPlayerListenersAdded = false
             log.d("Player listeners are removed.")
         }
     }
@@ -1231,6 +3478,8 @@ class KalturaPlayerRN(
             return
         }
 
+        isKalturaPlayerListenersAdded = true
+
         player?.addListener(context, PlayerEvent.canPlay) { sendPlayerEvent(KalturaPlayerEvents.CAN_PLAY) }
 
         player?.addListener(context, PlayerEvent.playing) { sendPlayerEvent(KalturaPlayerEvents.PLAYING) }
@@ -1438,6 +3687,9 @@ class KalturaPlayerRN(
         }
 
         player?.addListener(context, PlayerEvent.bytesLoaded) { event: PlayerEvent.BytesLoaded ->
+            if (!throughputEstimatorConfig.forwardBytesLoaded) {
+                return@addListener
+            }
             sendPlayerEvent(
                 KalturaPlayerEvents.BYTES_LOADED, ("{ \"bytesLoaded\": " + event.bytesLoaded +
                         ", \"dataType\": " + event.dataType +
@@ -1,34 +1,149 @@
 package com.reactnativekalturaplayer;
 
-import android.widget.FrameLayout;
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.facebook.react.bridge.ReactApplicationContext;
 
-public class KalturaPlayerRNView extends FrameLayout {
+public class KalturaPlayerRNView extends CoalescedLayoutFrameLayout {
+
+   /**
+    * Called on the main thread once the view has been scrolled off-screen,
+    * clipped by its ancestors, hidden or set to zero size, and once it is visible again.
+    * Views drawn on top of it, e.g. siblings or modals, are not detected and
+    * moves by a transform are only seen on the next scroll or layout.
+    */
+   public interface OnVisibilityChangedListener {
+      void onVisibilityChanged(boolean isVisible, float visibleRatio);
+   }
+
+   /**
+    * Called on the main thread with the laid-out size in pixels once it has changed
+    */
+   public interface OnViewSizeChangedListener {
+      void onViewSizeChanged(int width, int height);
+   }
+
+   @Nullable
+   private OnVisibilityChangedListener onVisibilityChangedListener;
+   @Nullable
+   private OnViewSizeChangedListener onViewSizeChangedListener;
+   private int reportedWidth = 0;
+   private int reportedHeight = 0;
+   private float minVisibleRatio = 0f;
+   private boolean isVisibleOnScreen = false;
+   private final Rect visibleRect = new Rect();
+
+   private final ViewTreeObserver.OnScrollChangedListener onScrollChangedListener = this::checkVisibility;
+   private final ViewTreeObserver.OnGlobalLayoutListener onGlobalLayoutListener = this::checkVisibility;
 
    public KalturaPlayerRNView(@NonNull ReactApplicationContext context) {
       super(context);
    }
 
    @Override
-   public void requestLayout() {
-      super.requestLayout();
-      reMeasureAndReLayout();
+   protected void onLayoutPassPerformed() {
+      reportViewSize();
    }
 
-   public void reMeasureAndReLayout() {
-      post(measureAndLayout);
+   /**
+    * RN resizes the view with layout() without requesting a layout,
+    * e.g. a style driven fullscreen change
+    */
+   @Override
+   protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+      super.onSizeChanged(width, height, oldWidth, oldHeight);
+      reportViewSize();
    }
 
-   private final Runnable measureAndLayout = () -> {
-      // This view relies on a measure + layout pass happening after it calls requestLayout().
-      // https://github.com/facebook/react-native/issues/17968#issuecomment-721958427
-      measure(
-              MeasureSpec.makeMeasureSpec(getWidth(), MeasureSpec.EXACTLY),
-              MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.EXACTLY));
-      layout(getLeft(), getTop(), getRight(), getBottom());
-   };
-}
+   private void reportViewSize() {
+      int width = getWidth();
+      int height = getHeight();
+      if (width == reportedWidth && height == reportedHeight) {
+         return;
+      }
+      reportedWidth = width;
+      reportedHeight = height;
+      if (onViewSizeChangedListener != null) {
+         onViewSizeChangedListener.onViewSizeChanged(width, height);
+      }
+   }
 
+   public void setOnViewSizeChangedListener(@Nullable OnViewSizeChangedListener listener) {
+      onViewSizeChangedListener = listener;
+   }
+
+   public void setOnVisibilityChangedListener(@Nullable OnVisibilityChangedListener listener) {
+      onVisibilityChangedListener = listener;
+   }
+
+   /**
+    * @param minVisibleRatio Visible area ratio below which the view is treated as off-screen
+    */
+   public void setMinVisibleRatio(float minVisibleRatio) {
+      this.minVisibleRatio = Math.max(0f, Math.min(1f, minVisibleRatio));
+      checkVisibility();
+   }
+
+   public boolean isVisibleOnScreen() {
+      return isVisibleOnScreen;
+   }
+
+   @Override
+   protected void onAttachedToWindow() {
+      super.onAttachedToWindow();
+      ViewTreeObserver viewTreeObserver = getViewTreeObserver();
+      viewTreeObserver.addOnScrollChangedListener(onScrollChangedListener);
+      viewTreeObserver.addOnGlobalLayoutListener(onGlobalLayoutListener);
+      checkVisibility();
+   }
+
+   @Override
+   protected void onDetachedFromWindow() {
+      ViewTreeObserver viewTreeObserver = getViewTreeObserver();
+      viewTreeObserver.removeOnScrollChangedListener(onScrollChangedListener);
+      viewTreeObserver.removeOnGlobalLayoutListener(onGlobalLayoutListener);
+      super.onDetachedFromWindow();
+      updateVisibility(false, 0f);
+   }
+
+   @Override
+   protected void onVisibilityChanged(@NonNull View changedView, int visibility) {
+      super.onVisibilityChanged(changedView, visibility);
+      checkVisibility();
+   }
+
+   @Override
+   protected void onWindowVisibilityChanged(int visibility) {
+      super.onWindowVisibilityChanged(visibility);
+      checkVisibility();
+   }
+
+   private void checkVisibility() {
+      float visibleRatio = getVisibleRatio();
+      boolean isVisible = visibleRatio > 0f && visibleRatio >= minVisibleRatio;
+      updateVisibility(isVisible, visibleRatio);
+   }
+
+   private void updateVisibility(boolean isVisible, float visibleRatio) {
+      if (isVisible == isVisibleOnScreen) {
+         return;
+      }
+      isVisibleOnScreen = isVisible;
+      if (onVisibilityChangedListener != null) {
+         onVisibilityChangedListener.onVisibilityChanged(isVisible, visibleRatio);
+      }
+   }
+
+   private float getVisibleRatio() {
+      int area = getWidth() * getHeight();
+      if (!isAttachedToWindow() || !isShown() || area == 0 || !getGlobalVisibleRect(visibleRect)) {
+         return 0f;
+      }
+      return (float) (visibleRect.width() * visibleRect.height()) / area;
+   }
+}
@@ -0,0 +1,29 @@
+package com.reactnativekalturaplayer;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * View of a feed preview player. Unlike {@link KalturaPlayerRNView}
+ * there is one instance per React component, bound by `previewId`.
+ */
+public class KalturaPreviewView extends CoalescedLayoutFrameLayout {
+
+   @Nullable
+   private String previewId;
+
+   public KalturaPreviewView(@NonNull Context context) {
+      super(context);
+   }
+
+   @Nullable
+   public String getPreviewId() {
+      return previewId;
+   }
+
+   void setPreviewId(@Nullable String previewId) {
+      this.previewId = previewId;
+   }
+}
@@ -0,0 +1,71 @@
+package com.reactnativekalturaplayer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.ViewGroupManager;
+import com.facebook.react.uimanager.annotations.ReactProp;
+import com.kaltura.playkit.PKLog;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class KalturaPreviewViewManager extends ViewGroupManager<KalturaPreviewView> {
+
+   private PKLog log = PKLog.get(KalturaPreviewViewManager.class.getSimpleName());
+   private static final String PREVIEW_CLASS = "KalturaPreviewView";
+   private final Map<String, KalturaPreviewView> previewViews = new HashMap<>();
+   @Nullable
+   private OnPreviewViewDroppedListener onPreviewViewDroppedListener;
+
+   public interface OnPreviewViewDroppedListener {
+      void onPreviewViewDropped(@NonNull String previewId);
+   }
+
+   @NonNull
+   @Override
+   public String getName() {
+      return PREVIEW_CLASS;
+   }
+
+   @NonNull
+   @Override
+   protected KalturaPreviewView createViewInstance(@NonNull ThemedReactContext reactContext) {
+      return new KalturaPreviewView(reactContext);
+   }
+
+   @ReactProp(name = "previewId")
+   public void setPreviewId(@NonNull KalturaPreviewView view, @Nullable String previewId) {
+      String oldPreviewId = view.getPreviewId();
+      if (oldPreviewId != null && previewViews.get(oldPreviewId) == view) {
+         previewViews.remove(oldPreviewId);
+      }
+      view.setPreviewId(previewId);
+      if (previewId != null) {
+         previewViews.put(previewId, view);
+      }
+   }
+
+   @Override
+   public void onDropViewInstance(@NonNull KalturaPreviewView view) {
+      super.onDropViewInstance(view);
+      String previewId = view.getPreviewId();
+      log.d("onDropViewInstance previewId: " + previewId);
+      if (previewId != null && previewViews.get(previewId) == view) {
+         previewViews.remove(previewId);
+         if (onPreviewViewDroppedListener != null) {
+            onPreviewViewDroppedListener.onPreviewViewDropped(previewId);
+         }
+      }
+   }
+
+   @Nullable
+   public KalturaPreviewView getPreviewView(@NonNull String previewId) {
+      return previewViews.get(previewId);
+   }
+
+   public void setOnPreviewViewDroppedListener(@Nullable OnPreviewViewDroppedListener listener) {
+      onPreviewViewDroppedListener = listener;
+   }
+}
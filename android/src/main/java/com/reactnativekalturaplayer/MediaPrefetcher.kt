@@ -0,0 +1,201 @@
+package com.reactnativekalturaplayer
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.kaltura.netkit.utils.ErrorElement
+import com.kaltura.playkit.PKLog
+import com.kaltura.playkit.PKMediaEntry
+import com.kaltura.playkit.providers.MediaEntryProvider
+import com.kaltura.tvplayer.MediaOptions
+import java.util.*
+
+/**
+ * Resolves OVP/OTT media entries through the providers ahead of playback
+ * and keeps them in a small LRU cache. It never creates a playback, only the
+ * provider requests are done here.
+ *
+ * Requests are deduplicated by cache key and at most [maxConcurrentRequests]
+ * are in flight at a time, less if the [BandwidthArbiter] budget is low.
+ * While the foreground player is loading or buffering the pending requests
+ * are held back.
+ *
+ * All the methods should be called on the main thread.
+ */
+class MediaPrefetcher {
+
+    private val log = PKLog.get(MediaPrefetcher::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    private var serverUrl: String? = null
+    private var partnerId: Int = 0
+
+    var maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS
+
+    private val cache = object : LinkedHashMap<String, CachedMediaEntry>(MAX_CACHED_ENTRIES, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, CachedMediaEntry>?): Boolean {
+            return size > MAX_CACHED_ENTRIES
+        }
+    }
+    private val pendingRequests: Deque<PrefetchRequest> = ArrayDeque()
+    private val inFlightRequests = HashMap<String, InFlightRequest>()
+    private val waitingBatches = HashMap<String, MutableList<PrefetchBatch>>()
+    private var isForegroundBuffering = false
+    // Results of the requests started before the last clear are dropped
+    private var generation = 0
+
+    class PrefetchRequest(val cacheKey: String, val assetId: String, val mediaOptions: MediaOptions)
+
+    private class InFlightRequest(val request: PrefetchRequest, val provider: MediaEntryProvider)
+
+    private class CachedMediaEntry(val mediaEntry: PKMediaEntry, val cachedAtMs: Long)
+
+    private class PrefetchBatch(
+        private var remaining: Int,
+        private val onCompleted: (prefetched: List<String>, failed: List<String>) -> Unit) {
+
+        private val prefetched = ArrayList<String>()
+        private val failed = ArrayList<String>()
+
+        fun onResult(assetId: String, isSuccess: Boolean) {
+            if (isSuccess) prefetched.add(assetId) else failed.add(assetId)
+            remaining--
+            if (remaining == 0) {
+                onCompleted(prefetched, failed)
+            }
+        }
+    }
+
+    fun setProviderConfig(serverUrl: String?, partnerId: Int) {
+        this.serverUrl = serverUrl
+        this.partnerId = partnerId
+    }
+
+    /**
+     * Queue the provider requests for the given assets.
+     * `onCompleted` is called once all of them are either cached or failed.
+     */
+    fun prefetch(requests: List<PrefetchRequest>, onCompleted: (prefetched: List<String>, failed: List<String>) -> Unit) {
+        val batch = PrefetchBatch(requests.size, onCompleted)
+        for (request in requests) {
+            if (getCachedEntry(request.cacheKey) != null) {
+                batch.onResult(request.assetId, true)
+                continue
+            }
+
+            val batches = waitingBatches[request.cacheKey]
+            if (batches != null) {
+                // Already queued or in flight, just wait for its result
+                batches.add(batch)
+                continue
+            }
+
+            waitingBatches[request.cacheKey] = mutableListOf(batch)
+            pendingRequests.add(request)
+        }
+        dispatchPendingRequests()
+    }
+
+    /**
+     * Get the cached media entry if it is still valid
+     */
+    fun getCachedEntry(cacheKey: String): PKMediaEntry? {
+        val cachedMediaEntry = cache[cacheKey] ?: return null
+        if (SystemClock.elapsedRealtime() - cachedMediaEntry.cachedAtMs > CACHE_ENTRY_TIMEOUT_MS) {
+            cache.remove(cacheKey)
+            return null
+        }
+        return cachedMediaEntry.mediaEntry
+    }
+
+    /**
+     * Hold back the provider requests while the foreground player
+     * is loading or buffering
+     */
+    fun setForegroundBuffering(isBuffering: Boolean) {
+        if (isForegroundBuffering == isBuffering) {
+            return
+        }
+        isForegroundBuffering = isBuffering
+        if (!isBuffering) {
+            dispatchPendingRequests()
+        }
+    }
+
+    val cachedEntries: Int
+        get() = cache.size
+
+    /**
+     * Drop the cached entries, pending requests are kept
+     */
+    fun clearCache() {
+        cache.clear()
+    }
+
+    /**
+     * Drop the cached entries, cancel the in flight requests
+     * and fail all the waiting prefetches
+     */
+    fun clear() {
+        cache.clear()
+        generation++
+        val requests = ArrayList(pendingRequests)
+        pendingRequests.clear()
+        for (inFlightRequest in inFlightRequests.values) {
+            inFlightRequest.provider.cancel()
+            requests.add(inFlightRequest.request)
+        }
+        inFlightRequests.clear()
+        for (request in requests) {
+            notifyBatches(request, false)
+        }
+    }
+
+    private fun dispatchPendingRequests() {
+        if (serverUrl == null) {
+            log.e("Provider config is not set hence can not prefetch the media")
+            clear()
+            return
+        }
+
+        val maxRequests = minOf(maxConcurrentRequests, BandwidthArbiter.maxPrefetchRequests)
+        while (!isForegroundBuffering && inFlightRequests.size < maxRequests && pendingRequests.isNotEmpty()) {
+            val request = pendingRequests.poll() ?: return
+            log.d("prefetch assetId: ${request.assetId}")
+            val provider = request.mediaOptions.buildMediaProvider(serverUrl, partnerId)
+            inFlightRequests[request.cacheKey] = InFlightRequest(request, provider)
+            val requestGeneration = generation
+            provider.load { response ->
+                mainHandler.post {
+                    if (requestGeneration == generation) {
+                        onRequestCompleted(request, response?.response, response?.error)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun onRequestCompleted(request: PrefetchRequest, mediaEntry: PKMediaEntry?, error: ErrorElement?) {
+        inFlightRequests.remove(request.cacheKey)
+        if (error != null || mediaEntry == null) {
+            log.e("prefetch failed for assetId: ${request.assetId} error: ${error?.message}")
+            notifyBatches(request, false)
+        } else {
+            cache[request.cacheKey] = CachedMediaEntry(mediaEntry, SystemClock.elapsedRealtime())
+            notifyBatches(request, true)
+        }
+        dispatchPendingRequests()
+    }
+
+    private fun notifyBatches(request: PrefetchRequest, isSuccess: Boolean) {
+        waitingBatches.remove(request.cacheKey)?.forEach {
+            it.onResult(request.assetId, isSuccess)
+        }
+    }
+
+    companion object {
+        const val DEFAULT_MAX_CONCURRENT_REQUESTS = 2
+        const val MAX_CACHED_ENTRIES = 20
+        const val CACHE_ENTRY_TIMEOUT_MS = 5 * 60 * 1000L
+    }
+}
@@ -0,0 +1,100 @@
+package com.reactnativekalturaplayer
+
+import android.content.ComponentCallbacks2
+import android.content.Context
+import android.content.res.Configuration
+import android.os.Handler
+import android.os.Looper
+import com.kaltura.playkit.PKLog
+
+/**
+ * Maps the trim memory levels to the tiers of memory pressure.
+ *
+ * Tier only goes up with the trim callbacks, the host releases more on every
+ * tier. It goes back to [TIER_NORMAL] once there has been no trim callback
+ * for [RECOVERY_DELAY_MS].
+ *
+ * Callbacks are delivered on the main thread.
+ */
+class MemoryGovernor(private val host: Host) : ComponentCallbacks2 {
+
+    interface Host {
+        fun onMemoryTierChanged(tier: Int, trimLevel: Int)
+    }
+
+    private val log = PKLog.get(MemoryGovernor::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+    private var isRegistered = false
+
+    var tier = TIER_NORMAL
+        private set
+
+    private val recoveryRunnable = Runnable {
+        log.d("No memory pressure for $RECOVERY_DELAY_MS ms, recovering")
+        tier = TIER_NORMAL
+        host.onMemoryTierChanged(TIER_NORMAL, 0)
+    }
+
+    fun register(context: Context) {
+        if (!isRegistered) {
+            context.applicationContext.registerComponentCallbacks(this)
+            isRegistered = true
+        }
+    }
+
+    /**
+     * Tier starts from [TIER_NORMAL] on the next [register]
+     */
+    fun unregister(context: Context) {
+        if (isRegistered) {
+            context.applicationContext.unregisterComponentCallbacks(this)
+            isRegistered = false
+        }
+        mainHandler.removeCallbacks(recoveryRunnable)
+        tier = TIER_NORMAL
+    }
+
+    override fun onTrimMemory(level: Int) {
+        val newTier = getTier(level)
+        log.d("onTrimMemory level: $level tier: $newTier")
+        if (newTier == TIER_NORMAL) {
+            return
+        }
+
+        mainHandler.removeCallbacks(recoveryRunnable)
+        mainHandler.postDelayed(recoveryRunnable, RECOVERY_DELAY_MS)
+        if (newTier > tier) {
+            tier = newTier
+            host.onMemoryTierChanged(newTier, level)
+        }
+    }
+
+    override fun onLowMemory() {
+        onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE)
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration) {
+        // Not relevant
+    }
+
+    private fun getTier(level: Int): Int {
+        return when {
+            level >= ComponentCallbacks2.TRIM_MEMORY_COMPLETE ||
+                    level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL -> TIER_CRITICAL
+            level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE ||
+                    level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW -> TIER_LOW
+            level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND ||
+                    level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE -> TIER_MODERATE
+            // TRIM_MEMORY_UI_HIDDEN is just the app going to background
+            else -> TIER_NORMAL
+        }
+    }
+
+    companion object {
+        const val TIER_NORMAL = 0
+        const val TIER_MODERATE = 1 // Caches and previews are released
+        const val TIER_LOW = 2 // Standby players are released and not prepared
+        const val TIER_CRITICAL = 3 // Video quality of the active player is degraded
+        private const val RECOVERY_DELAY_MS = 60_000L
+    }
+}
@@ -0,0 +1,255 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import com.facebook.react.bridge.Promise
+import com.kaltura.playkit.PKLog
+import com.kaltura.tvplayer.KalturaPlayer
+import com.reactnativekalturaplayer.events.KalturaPlayerEvents
+import com.reactnativekalturaplayer.model.MultiAngleConfig
+import com.reactnativekalturaplayer.model.PlaylistItem
+
+/**
+ * Multi-angle switching on top of the active player.
+ *
+ * Alternative angles are prepared on muted standby players without view which
+ * follow the play state of the active player. They are kept in sync with the
+ * main playhead, either on the media time or on the program time, by small
+ * playback rate corrections. A hot angle is seeked only when it is far off,
+ * e.g. after a seek of the active player, and then a bit ahead so that the
+ * main playhead catches up while it buffers, never right before the switch.
+ * Switching to a hot angle swaps the player view onto it and the previous
+ * angle keeps playing muted as a standby player. Angles which are not hot are
+ * loaded and seeked on the active player.
+ *
+ * All the methods should be called on the main thread.
+ */
+class MultiAngleController(private val host: Host) {
+
+    interface Host {
+        fun getActivePlayer(): KalturaPlayer?
+        fun loadAngle(angle: PlaylistItem, positionMs: Long, promise: Promise?)
+        fun prepareAngle(standbyKey: String, index: Int, angle: PlaylistItem, positionMs: Long)
+        fun getStandbyPlayer(standbyKey: String): StandbyPlayer?
+        fun switchToStandbyAngle(standbyKey: String, previousStandbyKey: String, previousAngleId: String, promise: Promise?): Boolean
+        fun releaseStandbyPlayers(keyPrefix: String)
+        fun releaseStandbyPlayer(standbyKey: String)
+        fun setMaxStandbyPlayers(maxStandbyPlayers: Int)
+        fun sendAngleEvent(eventName: String, payload: String)
+        fun resolveWithCurrentMedia(promise: Promise?)
+        fun rejectPromise(promise: Promise?, message: String)
+    }
+
+    private val log = PKLog.get(MultiAngleController::class.java.simpleName)
+
+    private var angles: List<PlaylistItem> = emptyList()
+    private var config = MultiAngleConfig()
+    private var currentIndex = INDEX_UNSET
+    private var previousIndex = INDEX_UNSET
+    private var lastSyncAtMs = 0L
+    private var switchStartedAtMs = 0L
+    private var isHotSwitch = false
+
+    val isActive: Boolean
+        get() = angles.isNotEmpty() && currentIndex != INDEX_UNSET
+
+    /**
+     * @param currentIndex index of the angle which is already loaded on the active player
+     */
+    fun setAngles(angles: List<PlaylistItem>, currentIndex: Int, config: MultiAngleConfig?) {
+        clear()
+        this.angles = angles
+        this.config = config ?: MultiAngleConfig()
+        this.currentIndex = if (currentIndex in angles.indices) currentIndex else INDEX_UNSET
+        host.setMaxStandbyPlayers(this.config.maxHotAngles)
+        prepareHotAngles()
+    }
+
+    fun clear() {
+        host.releaseStandbyPlayers(STANDBY_KEY_PREFIX)
+        angles = emptyList()
+        currentIndex = INDEX_UNSET
+        previousIndex = INDEX_UNSET
+        lastSyncAtMs = 0L
+        switchStartedAtMs = 0L
+        host.setMaxStandbyPlayers(StandbyPlayerPool.DEFAULT_MAX_STANDBY_PLAYERS)
+    }
+
+    fun switchTo(index: Int, promise: Promise?) {
+        if (index < 0 || index >= angles.size) {
+            val message = "Invalid angle index $index, angles size is ${angles.size}"
+            log.e(message)
+            host.rejectPromise(promise, message)
+            return
+        }
+
+        if (index == currentIndex) {
+            host.resolveWithCurrentMedia(promise)
+            return
+        }
+
+        switchStartedAtMs = SystemClock.elapsedRealtime()
+        val standbyKey = getStandbyKey(index)
+        val standbyPlayer = host.getStandbyPlayer(standbyKey)
+        // Hot angle is already in sync, seeking it now would flush its buffer
+        isHotSwitch = standbyPlayer?.isReady == true
+
+        // Live angles with program time sync are simply loaded at the live edge
+        val positionMs = if (config.isProgramTimeSync()) 0L else host.getActivePlayer()?.currentPosition ?: 0L
+        val isSwitched = currentIndex != INDEX_UNSET &&
+                host.switchToStandbyAngle(standbyKey, getStandbyKey(currentIndex), angles[currentIndex].id, promise)
+        if (!isSwitched) {
+            host.loadAngle(angles[index], positionMs, promise)
+        }
+        previousIndex = currentIndex
+        currentIndex = index
+
+        val hotAngleKeys = getHotAngleIndexes().map { getStandbyKey(it) }.toSet()
+        for (key in angles.indices.map { getStandbyKey(it) }) {
+            if (!hotAngleKeys.contains(key)) {
+                host.releaseStandbyPlayer(key)
+            }
+        }
+
+        if (isSwitched && host.getActivePlayer()?.isPlaying == true) {
+            // Hot angle has been playing already, there is no `playing` event
+            onPlaying()
+        }
+    }
+
+    /**
+     * Active angle has started playing, report the switch time
+     * and prepare the hot angles
+     */
+    fun onPlaying() {
+        if (!isActive) {
+            return
+        }
+
+        if (switchStartedAtMs != 0L) {
+            val switchTimeMs = SystemClock.elapsedRealtime() - switchStartedAtMs
+            switchStartedAtMs = 0L
+            host.sendAngleEvent(
+                KalturaPlayerEvents.ANGLE_CHANGED,
+                "{ \"index\": $currentIndex, \"id\": \"${angles[currentIndex].id}\", " +
+                        "\"isHot\": $isHotSwitch, \"switchTimeMs\": $switchTimeMs }"
+            )
+        }
+
+        prepareHotAngles()
+    }
+
+    /**
+     * Keep the hot angles in sync with the main playhead
+     */
+    fun onPlayheadUpdated() {
+        if (!isActive) {
+            return
+        }
+
+        val now = SystemClock.elapsedRealtime()
+        if (now - lastSyncAtMs < config.syncIntervalMs) {
+            return
+        }
+        lastSyncAtMs = now
+
+        for (index in getHotAngleIndexes()) {
+            host.getStandbyPlayer(getStandbyKey(index))?.let {
+                syncStandbyPlayer(it)
+            }
+        }
+    }
+
+    private fun prepareHotAngles() {
+        for (index in getHotAngleIndexes()) {
+            val standbyKey = getStandbyKey(index)
+            if (host.getStandbyPlayer(standbyKey) == null) {
+                log.d("Preparing the angle $index")
+                val positionMs = if (config.isProgramTimeSync()) 0L else host.getActivePlayer()?.currentPosition ?: 0L
+                host.prepareAngle(standbyKey, index, angles[index], positionMs)
+            }
+        }
+    }
+
+    private fun syncStandbyPlayer(standbyPlayer: StandbyPlayer) {
+        val activePlayer = host.getActivePlayer() ?: return
+        if (!standbyPlayer.isReady) {
+            return
+        }
+
+        val standby = standbyPlayer.player
+        val targetPositionMs = if (config.isProgramTimeSync()) {
+            val activeProgramTime = activePlayer.currentProgramTime
+            val standbyProgramTime = standby.currentProgramTime
+            if (activeProgramTime <= 0 || standbyProgramTime <= 0) {
+                return
+            }
+            standby.currentPosition + (activeProgramTime - standbyProgramTime)
+        } else {
+            activePlayer.currentPosition
+        }
+
+        val driftMs = targetPositionMs - standby.currentPosition
+        val isActivePlaying = activePlayer.isPlaying
+        if (!isActivePlaying) {
+            if (standby.isPlaying) {
+                standby.pause()
+            }
+            // Paused angle does not catch up by the rate, it is seeked once
+            if (Math.abs(driftMs) > config.syncToleranceMs) {
+                standby.seekTo(targetPositionMs.coerceAtLeast(0L))
+            }
+            return
+        }
+
+        if (Math.abs(driftMs) > MAX_RATE_CORRECTED_DRIFT_MS) {
+            log.d("Hot angle is off by $driftMs ms, seeking ahead")
+            standby.seekTo((targetPositionMs + SEEK_AHEAD_MS).coerceAtLeast(0L))
+        }
+        if (!standby.isPlaying) {
+            standby.play()
+        }
+
+        var playbackRate = activePlayer.playbackRate
+        if (Math.abs(driftMs) > config.syncToleranceMs && Math.abs(driftMs) <= MAX_RATE_CORRECTED_DRIFT_MS) {
+            val correction = (driftMs.toDouble() / RATE_CORRECTION_PERIOD_MS).coerceIn(-MAX_RATE_CORRECTION, MAX_RATE_CORRECTION)
+            playbackRate *= (1 + correction).toFloat()
+        }
+        if (standby.playbackRate != playbackRate) {
+            standby.playbackRate = playbackRate
+        }
+    }
+
+    /**
+     * Previous angle first as it is the most likely to be switched back,
+     * then the rest in the list order. Bounded by [MultiAngleConfig.maxHotAngles].
+     */
+    private fun getHotAngleIndexes(): List<Int> {
+        if (currentIndex == INDEX_UNSET) {
+            return emptyList()
+        }
+        val indexes = ArrayList<Int>()
+        if (previousIndex != INDEX_UNSET && previousIndex != currentIndex) {
+            indexes.add(previousIndex)
+        }
+        for (index in angles.indices) {
+            if (index != currentIndex && index != previousIndex) {
+                indexes.add(index)
+            }
+        }
+        return indexes.take(config.maxHotAngles.coerceAtLeast(0))
+    }
+
+    private fun getStandbyKey(index: Int): String {
+        return "$STANDBY_KEY_PREFIX$index:${angles[index].id}"
+    }
+
+    companion object {
+        const val INDEX_UNSET = -1
+        const val STANDBY_KEY_PREFIX = "angle:"
+        // Drift is corrected within this period by the playback rate
+        private const val RATE_CORRECTION_PERIOD_MS = 10_000L
+        private const val MAX_RATE_CORRECTION = 0.1
+        private const val MAX_RATE_CORRECTED_DRIFT_MS = 5000L
+        private const val SEEK_AHEAD_MS = 1000L
+    }
+}
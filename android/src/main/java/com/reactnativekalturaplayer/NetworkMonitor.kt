@@ -0,0 +1,151 @@
+package com.reactnativekalturaplayer
+
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.Network
+import android.net.NetworkCapabilities
+import android.net.NetworkRequest
+import android.os.Build
+import android.os.Handler
+import android.os.Looper
+import com.kaltura.playkit.PKLog
+
+/**
+ * Follows the default network of the app with a `NetworkCallback` and tells
+ * the host once its transport or metered state has changed.
+ *
+ * Callbacks are delivered on the main thread.
+ */
+class NetworkMonitor(private val host: Host) {
+
+    interface Host {
+        fun onNetworkChanged(networkType: String, isMetered: Boolean)
+    }
+
+    private val log = PKLog.get(NetworkMonitor::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+    private var connectivityManager: ConnectivityManager? = null
+    private var appContext: Context? = null
+
+    var networkType = NETWORK_TYPE_OTHER
+        private set
+    var isMetered = false
+        private set
+
+    val isConnected: Boolean
+        get() = networkType != NETWORK_TYPE_NONE
+
+    private val refreshRunnable = Runnable { refresh() }
+
+    private val networkCallback = object : ConnectivityManager.NetworkCallback() {
+        override fun onAvailable(network: Network) {
+            scheduleRefresh()
+        }
+
+        override fun onLost(network: Network) {
+            scheduleRefresh()
+        }
+
+        override fun onCapabilitiesChanged(network: Network, networkCapabilities: NetworkCapabilities) {
+            scheduleRefresh()
+        }
+    }
+
+    /**
+     * @return `false` if the network changes can not be followed, the state
+     * stays [NETWORK_TYPE_OTHER] and not metered then
+     */
+    fun register(context: Context): Boolean {
+        if (connectivityManager != null) {
+            return true
+        }
+        val manager = context.getSystemService(Context.CONNECTIVITY_SERVICE) as? ConnectivityManager ?: return false
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                manager.registerDefaultNetworkCallback(networkCallback)
+            } else {
+                manager.registerNetworkCallback(NetworkRequest.Builder().build(), networkCallback)
+            }
+        } catch (exception: RuntimeException) {
+            // SecurityException without ACCESS_NETWORK_STATE or too many callbacks
+            log.e("Network callback can not be registered ${exception.message}")
+            return false
+        }
+        connectivityManager = manager
+        appContext = context.applicationContext
+        networkType = getNetworkType(context)
+        isMetered = manager.isActiveNetworkMetered
+        return true
+    }
+
+    fun unregister() {
+        mainHandler.removeCallbacks(refreshRunnable)
+        val manager = connectivityManager ?: return
+        try {
+            manager.unregisterNetworkCallback(networkCallback)
+        } catch (exception: IllegalArgumentException) {
+            log.e("Network callback can not be unregistered ${exception.message}")
+        }
+        connectivityManager = null
+        appContext = null
+        networkType = NETWORK_TYPE_OTHER
+        isMetered = false
+    }
+
+    /**
+     * Several callbacks come for one change, the state is read once they are settled
+     */
+    private fun scheduleRefresh() {
+        mainHandler.removeCallbacks(refreshRunnable)
+        mainHandler.postDelayed(refreshRunnable, REFRESH_DELAY_MS)
+    }
+
+    private fun refresh() {
+        val context = appContext ?: return
+        val manager = connectivityManager ?: return
+        val newNetworkType = getNetworkType(context)
+        val newIsMetered = newNetworkType != NETWORK_TYPE_NONE && manager.isActiveNetworkMetered
+        if (newNetworkType == networkType && newIsMetered == isMetered) {
+            return
+        }
+        log.d("Network changed from $networkType to $newNetworkType metered: $newIsMetered")
+        networkType = newNetworkType
+        isMetered = newIsMetered
+        host.onNetworkChanged(newNetworkType, newIsMetered)
+    }
+
+    companion object {
+        const val NETWORK_TYPE_WIFI = "wifi"
+        const val NETWORK_TYPE_CELLULAR = "cellular"
+        const val NETWORK_TYPE_ETHERNET = "ethernet"
+        const val NETWORK_TYPE_OTHER = "other"
+        const val NETWORK_TYPE_NONE = "none"
+        private const val REFRESH_DELAY_MS = 300L
+
+        @Suppress("DEPRECATION")
+        fun getNetworkType(context: Context): String {
+            val connectivityManager = context.getSystemService(Context.CONNECTIVITY_SERVICE) as? ConnectivityManager
+                ?: return NETWORK_TYPE_OTHER
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                val capabilities = connectivityManager.getNetworkCapabilities(connectivityManager.activeNetwork)
+                    ?: return NETWORK_TYPE_NONE
+                return when {
+                    capabilities.hasTransport(NetworkCapabilities.TRANSPORT_WIFI) -> NETWORK_TYPE_WIFI
+                    capabilities.hasTransport(NetworkCapabilities.TRANSPORT_CELLULAR) -> NETWORK_TYPE_CELLULAR
+                    capabilities.hasTransport(NetworkCapabilities.TRANSPORT_ETHERNET) -> NETWORK_TYPE_ETHERNET
+                    else -> NETWORK_TYPE_OTHER
+                }
+            }
+            val networkInfo = connectivityManager.activeNetworkInfo
+            if (networkInfo == null || !networkInfo.isConnected) {
+                return NETWORK_TYPE_NONE
+            }
+            return when (networkInfo.type) {
+                ConnectivityManager.TYPE_WIFI -> NETWORK_TYPE_WIFI
+                ConnectivityManager.TYPE_MOBILE -> NETWORK_TYPE_CELLULAR
+                ConnectivityManager.TYPE_ETHERNET -> NETWORK_TYPE_ETHERNET
+                else -> NETWORK_TYPE_OTHER
+            }
+        }
+    }
+}
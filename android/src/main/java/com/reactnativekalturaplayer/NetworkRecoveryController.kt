@@ -0,0 +1,177 @@
+package com.reactnativekalturaplayer
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+import com.kaltura.playkit.PlayerState
+import com.kaltura.playkit.utils.Consts
+import com.kaltura.tvplayer.KalturaPlayer
+import com.reactnativekalturaplayer.events.KalturaPlayerEvents
+import com.reactnativekalturaplayer.model.NetworkRecoveryConfig
+
+/**
+ * Recovers the active player as soon as the network is back instead of
+ * waiting for the retry backoff of the player.
+ *
+ * Media is reloaded from the last position if the player has failed while
+ * offline, otherwise the stalled loading is restarted in place once and the
+ * next retries only check that the player has become ready. Retries are
+ * repeated with a doubling delay till the player is ready or
+ * `maxRetries` is reached.
+ *
+ * All the methods should be called on the main thread.
+ */
+class NetworkRecoveryController(private val host: Host) {
+
+    interface Host {
+        fun getActivePlayer(): KalturaPlayer?
+        fun sendNetworkRecoveryEvent(eventName: String, payload: String)
+    }
+
+    private val log = PKLog.get(NetworkRecoveryController::class.java.simpleName)
+    private val mainHandler = Handler(Looper.getMainLooper())
+
+    var config = NetworkRecoveryConfig()
+
+    private var playerState: PlayerState? = null
+    private var lastPositionMs = 0L
+    private var lostAtMs = 0L
+    private var regainedAtMs = 0L
+    private var wasPlaying = false
+    private var isReloadRequired = false
+    private var attempt = 0
+
+    private val retryRunnable = Runnable { retry() }
+
+    fun onNetworkLost() {
+        val activePlayer = host.getActivePlayer() ?: return
+        if (!config.enabled || lostAtMs != 0L) {
+            return
+        }
+        mainHandler.removeCallbacks(retryRunnable)
+        lostAtMs = SystemClock.elapsedRealtime()
+        regainedAtMs = 0L
+        wasPlaying = wasPlaying || activePlayer.isPlaying
+        sendEvent(STATUS_LOST)
+    }
+
+    fun onNetworkRegained() {
+        if (!config.enabled || (lostAtMs == 0L && !isReloadRequired)) {
+            return
+        }
+        regainedAtMs = SystemClock.elapsedRealtime()
+        if (lostAtMs == 0L) {
+            // Player failed before the network loss was reported
+            lostAtMs = regainedAtMs
+        }
+        attempt = 0
+        if (!isReloadRequired && playerState == PlayerState.READY) {
+            // Buffer has lasted through the outage
+            onRecovered()
+            return
+        }
+        retry()
+    }
+
+    /**
+     * Fatal error of the active player, it is reloaded once the network is back
+     *
+     * @param isNetworkError error is caused by loading the media
+     */
+    fun onPlayerError(isNetworkError: Boolean) {
+        if (config.enabled && (isNetworkError || lostAtMs != 0L)) {
+            wasPlaying = wasPlaying || playerState == PlayerState.BUFFERING
+            isReloadRequired = true
+        }
+    }
+
+    fun onPlayerStateChanged(state: PlayerState) {
+        playerState = state
+        if (state == PlayerState.READY && regainedAtMs != 0L) {
+            onRecovered()
+        }
+    }
+
+    fun onPlayheadUpdated(positionMs: Long) {
+        if (positionMs > 0) {
+            lastPositionMs = positionMs
+        }
+    }
+
+    /**
+     * Forget the recovery, e.g. a new media is loaded or the player is swapped
+     */
+    fun reset() {
+        mainHandler.removeCallbacks(retryRunnable)
+        lostAtMs = 0L
+        regainedAtMs = 0L
+        wasPlaying = false
+        isReloadRequired = false
+        attempt = 0
+        lastPositionMs = 0L
+    }
+
+    private fun retry() {
+        val activePlayer = host.getActivePlayer()
+        if (activePlayer == null || regainedAtMs == 0L) {
+            return
+        }
+        if (attempt >= config.maxRetries) {
+            log.e("Player has not recovered after $attempt retries")
+            sendEvent(STATUS_FAILED)
+            reset()
+            return
+        }
+
+        attempt++
+        val isReload = isReloadRequired
+        log.d("Recovering the player, attempt: $attempt reload: $isReload")
+        sendEvent(STATUS_RETRYING)
+        if (isReload) {
+            activePlayer.mediaEntry?.let { mediaEntry ->
+                val positionMs = if (activePlayer.isLive) 0L else lastPositionMs
+                activePlayer.setMedia(mediaEntry, positionMs / Consts.MILLISECONDS_MULTIPLIER)
+                if (wasPlaying) {
+                    activePlayer.play()
+                }
+            }
+        } else if (attempt > 1) {
+            // Loading has been restarted, seeking again would throw away what it has loaded since
+            log.d("Player is not ready yet, state: $playerState")
+        } else if (activePlayer.isLive) {
+            activePlayer.seekToLiveDefaultPosition()
+        } else {
+            // Seek restarts the loading right away
+            activePlayer.seekTo(activePlayer.currentPosition)
+        }
+
+        val delayMs = config.retryDelayMs.toLong() shl (attempt - 1).coerceAtMost(MAX_BACKOFF_SHIFT)
+        mainHandler.postDelayed(retryRunnable, delayMs)
+    }
+
+    private fun onRecovered() {
+        mainHandler.removeCallbacks(retryRunnable)
+        sendEvent(STATUS_RECOVERED)
+        reset()
+    }
+
+    private fun sendEvent(status: String) {
+        val nowMs = SystemClock.elapsedRealtime()
+        val offlineMs = if (lostAtMs == 0L) 0L else (if (regainedAtMs != 0L) regainedAtMs else nowMs) - lostAtMs
+        val recoveryTimeMs = if (regainedAtMs != 0L && status != STATUS_LOST) nowMs - regainedAtMs else 0L
+        host.sendNetworkRecoveryEvent(
+            KalturaPlayerEvents.NETWORK_RECOVERY,
+            "{ \"status\": \"$status\", \"attempt\": $attempt, \"isReload\": $isReloadRequired, " +
+                    "\"offlineMs\": $offlineMs, \"recoveryTimeMs\": $recoveryTimeMs }"
+        )
+    }
+
+    companion object {
+        const val STATUS_LOST = "lost"
+        const val STATUS_RETRYING = "retrying"
+        const val STATUS_RECOVERED = "recovered"
+        const val STATUS_FAILED = "failed"
+        private const val MAX_BACKOFF_SHIFT = 5
+    }
+}
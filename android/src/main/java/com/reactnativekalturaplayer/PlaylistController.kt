@@ -0,0 +1,150 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import com.facebook.react.bridge.Promise
+import com.kaltura.playkit.PKLog
+import com.reactnativekalturaplayer.events.KalturaPlayerEvents
+import com.reactnativekalturaplayer.model.PlaylistConfig
+import com.reactnativekalturaplayer.model.PlaylistItem
+
+/**
+ * Native playlist on top of the active player.
+ *
+ * Next item is preloaded on a standby player [PlaylistConfig.preloadBeforeEndSec]
+ * before the current item ends and on `ENDED` it is swapped with the active player.
+ * If the next item is not preloaded then it is simply loaded on the active player.
+ *
+ * All the methods should be called on the main thread.
+ */
+class PlaylistController(private val host: Host) {
+
+    interface Host {
+        fun loadPlaylistItem(item: PlaylistItem, promise: Promise?)
+        fun preloadPlaylistItem(standbyKey: String, index: Int, item: PlaylistItem, includeAnalyticsPlugins: Boolean)
+        fun promoteStandbyPlayer(standbyKey: String, promise: Promise?): Boolean
+        fun releaseStandbyPlayers(keyPrefix: String)
+        fun sendPlaylistEvent(eventName: String, payload: String)
+        fun rejectPromise(promise: Promise?, message: String)
+    }
+
+    private val log = PKLog.get(PlaylistController::class.java.simpleName)
+
+    private var items: List<PlaylistItem> = emptyList()
+    private var config = PlaylistConfig()
+    private var currentIndex = INDEX_UNSET
+    private var preloadedIndex = INDEX_UNSET
+    private var switchStartedAtMs = 0L
+    private var isSwitchFromPreload = false
+
+    val isActive: Boolean
+        get() = items.isNotEmpty() && currentIndex != INDEX_UNSET
+
+    fun setPlaylist(items: List<PlaylistItem>, config: PlaylistConfig?) {
+        clear()
+        this.items = items
+        this.config = config ?: PlaylistConfig()
+    }
+
+    fun clear() {
+        host.releaseStandbyPlayers(STANDBY_KEY_PREFIX)
+        items = emptyList()
+        currentIndex = INDEX_UNSET
+        preloadedIndex = INDEX_UNSET
+        switchStartedAtMs = 0L
+    }
+
+    fun playItem(index: Int, promise: Promise?) {
+        if (index < 0 || index >= items.size) {
+            val message = "Invalid playlist index $index, playlist size is ${items.size}"
+            log.e(message)
+            host.rejectPromise(promise, message)
+            return
+        }
+
+        switchStartedAtMs = SystemClock.elapsedRealtime()
+        isSwitchFromPreload = index == preloadedIndex && host.promoteStandbyPlayer(getStandbyKey(index), promise)
+        if (!isSwitchFromPreload) {
+            host.releaseStandbyPlayers(STANDBY_KEY_PREFIX)
+            host.loadPlaylistItem(items[index], promise)
+        }
+        preloadedIndex = INDEX_UNSET
+        currentIndex = index
+    }
+
+    fun playNext(promise: Promise?) {
+        val nextIndex = getNextIndex()
+        if (nextIndex == INDEX_UNSET) {
+            host.rejectPromise(promise, "There is no next item in the playlist")
+            return
+        }
+        playItem(nextIndex, promise)
+    }
+
+    fun playPrevious(promise: Promise?) {
+        if (currentIndex <= 0) {
+            host.rejectPromise(promise, "There is no previous item in the playlist")
+            return
+        }
+        playItem(currentIndex - 1, promise)
+    }
+
+    fun onPlayheadUpdated(positionMs: Long, durationMs: Long) {
+        if (!isActive || durationMs <= 0) {
+            return
+        }
+
+        val nextIndex = getNextIndex()
+        if (nextIndex == INDEX_UNSET || nextIndex == preloadedIndex) {
+            return
+        }
+
+        if (durationMs - positionMs <= config.preloadBeforeEndSec * 1000L) {
+            log.d("Preloading the playlist item $nextIndex")
+            preloadedIndex = nextIndex
+            host.preloadPlaylistItem(getStandbyKey(nextIndex), nextIndex, items[nextIndex], config.preloadWithAnalyticsPlugins)
+        }
+    }
+
+    fun onEnded() {
+        if (isActive && config.autoAdvance && getNextIndex() != INDEX_UNSET) {
+            playNext(null)
+        }
+    }
+
+    /**
+     * Playback of the switched item has started, report the switch time
+     */
+    fun onPlaying() {
+        if (!isActive || switchStartedAtMs == 0L) {
+            return
+        }
+
+        val switchTimeMs = SystemClock.elapsedRealtime() - switchStartedAtMs
+        switchStartedAtMs = 0L
+        host.sendPlaylistEvent(
+            KalturaPlayerEvents.PLAYLIST_ITEM_CHANGED,
+            "{ \"index\": $currentIndex, \"id\": \"${items[currentIndex].id}\", " +
+                    "\"isPreloaded\": $isSwitchFromPreload, \"switchTimeMs\": $switchTimeMs }"
+        )
+    }
+
+    private fun getNextIndex(): Int {
+        if (currentIndex == INDEX_UNSET) {
+            return INDEX_UNSET
+        }
+        return when {
+            currentIndex + 1 < items.size -> currentIndex + 1
+            config.loop && items.size > 1 -> 0
+            else -> INDEX_UNSET
+        }
+    }
+
+    private fun getStandbyKey(index: Int): String {
+        return "$STANDBY_KEY_PREFIX$index:${items[index].id}"
+    }
+
+    companion object {
+        const val INDEX_UNSET = -1
+        const val STANDBY_KEY_PREFIX = "playlist:"
+    }
+}
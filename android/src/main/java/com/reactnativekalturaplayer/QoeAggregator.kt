@@ -0,0 +1,284 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import com.kaltura.playkit.PlayerState
+
+/**
+ * Quality of experience of the current playback session, aggregated from
+ * the player events instead of the raw events on the JS side.
+ *
+ * Session starts with the load of the media and ends on the end of the media,
+ * its summary is kept as is till the next session. Playing again after the end
+ * starts a new session. Buffering after the playback has started is a rebuffer
+ * unless it is caused by a seek, which is counted in the seek latency instead:
+ * from `seeking` till the player is ready again.
+ *
+ * All the methods should be called on the main thread.
+ */
+class QoeAggregator {
+
+    private var sessionStartedAtMs = 0L
+    private var sessionEndedAtMs = 0L
+    private var timeToReadyMs = -1L
+    private var playerState: PlayerState? = null
+    private var hasPlayed = false
+    private var isPlaying = false
+    private var playingSinceMs = 0L
+    private var playingTimeMs = 0L
+
+    private var rebufferCount = 0
+    private var rebufferStartedAtMs = 0L
+    private var rebufferDurationMs = 0L
+
+    private var videoBitrate = 0L
+    private var bitrateSwitches = 0
+    private val renditionTimeMs = LinkedHashMap<Long, Long>()
+
+    private var droppedFrames = 0L
+    private var errorCount = 0
+    private var fatalErrorCount = 0
+    private var lastErrorType: String? = null
+
+    private var seekCount = 0
+    private var seekStartedAtMs = 0L
+    private var seekLatencyTotalMs = 0L
+    private var seekLatencyMaxMs = 0L
+
+    private var isChanged = false
+
+    /**
+     * Session has started and it has not ended yet
+     */
+    val isSessionActive: Boolean
+        get() = sessionStartedAtMs != 0L && sessionEndedAtMs == 0L
+
+    /**
+     * New media is loaded, the previous session is forgotten
+     */
+    fun startSession() {
+        reset()
+        sessionStartedAtMs = SystemClock.elapsedRealtime()
+        isChanged = true
+    }
+
+    /**
+     * Media has ended, the session is not updated anymore
+     */
+    fun endSession() {
+        if (!isSessionActive) {
+            return
+        }
+        val nowMs = SystemClock.elapsedRealtime()
+        setPlaying(false)
+        endRebuffer(nowMs)
+        sessionEndedAtMs = nowMs
+        isChanged = false
+    }
+
+    fun reset() {
+        sessionStartedAtMs = 0L
+        sessionEndedAtMs = 0L
+        timeToReadyMs = -1L
+        playerState = null
+        hasPlayed = false
+        isPlaying = false
+        playingSinceMs = 0L
+        playingTimeMs = 0L
+        rebufferCount = 0
+        rebufferStartedAtMs = 0L
+        rebufferDurationMs = 0L
+        videoBitrate = 0L
+        bitrateSwitches = 0
+        renditionTimeMs.clear()
+        droppedFrames = 0L
+        errorCount = 0
+        fatalErrorCount = 0
+        lastErrorType = null
+        seekCount = 0
+        seekStartedAtMs = 0L
+        seekLatencyTotalMs = 0L
+        seekLatencyMaxMs = 0L
+        isChanged = false
+    }
+
+    fun onStartup(timeToReadyMs: Long) {
+        if (!isSessionActive) {
+            return
+        }
+        this.timeToReadyMs = timeToReadyMs
+        isChanged = true
+    }
+
+    fun onPlayerStateChanged(state: PlayerState) {
+        if (!isSessionActive) {
+            return
+        }
+        val nowMs = SystemClock.elapsedRealtime()
+        playerState = state
+        if (state == PlayerState.BUFFERING) {
+            setPlaying(false)
+            if (hasPlayed && seekStartedAtMs == 0L && rebufferStartedAtMs == 0L) {
+                rebufferCount++
+                rebufferStartedAtMs = nowMs
+            }
+        } else if (state == PlayerState.READY) {
+            endRebuffer(nowMs)
+            endSeek(nowMs)
+        }
+        isChanged = true
+    }
+
+    fun onPlayingChanged(isPlaying: Boolean) {
+        if (isPlaying && sessionEndedAtMs != 0L) {
+            // Replay, the rendition is kept till the next track change
+            val bitrate = videoBitrate
+            startSession()
+            videoBitrate = bitrate
+        }
+        if (!isSessionActive) {
+            return
+        }
+        if (isPlaying) {
+            hasPlayed = true
+            endRebuffer(SystemClock.elapsedRealtime())
+        }
+        setPlaying(isPlaying)
+        isChanged = true
+    }
+
+    fun onVideoTrackChanged(bitrate: Long) {
+        if (bitrate == videoBitrate) {
+            return
+        }
+        updatePlayingTime()
+        if (videoBitrate != 0L && isSessionActive) {
+            bitrateSwitches++
+        }
+        videoBitrate = bitrate
+        isChanged = true
+    }
+
+    fun onVideoFramesDropped(droppedFrames: Long) {
+        if (!isSessionActive) {
+            return
+        }
+        this.droppedFrames += droppedFrames
+        isChanged = true
+    }
+
+    fun onPlayerError(errorType: String, isFatal: Boolean) {
+        if (!isSessionActive) {
+            return
+        }
+        errorCount++
+        if (isFatal) {
+            fatalErrorCount++
+        }
+        lastErrorType = errorType
+        isChanged = true
+    }
+
+    fun onSeeking() {
+        if (!isSessionActive) {
+            return
+        }
+        seekCount++
+        seekStartedAtMs = SystemClock.elapsedRealtime()
+        // Seek while rebuffering ends the rebuffer, the rest is the seek latency
+        endRebuffer(seekStartedAtMs)
+        isChanged = true
+    }
+
+    fun onSeeked() {
+        // Seek within the buffer does not leave the ready state
+        if (isSessionActive && playerState == PlayerState.READY) {
+            endSeek(SystemClock.elapsedRealtime())
+        }
+    }
+
+    /**
+     * @return `true` if the summary has changed since the last call
+     */
+    fun consumeChanges(): Boolean {
+        val hasChanged = isChanged || isPlaying
+        isChanged = false
+        return hasChanged
+    }
+
+    fun toJson(reason: String): String {
+        val nowMs = if (sessionEndedAtMs != 0L) sessionEndedAtMs else SystemClock.elapsedRealtime()
+        updatePlayingTime()
+        val currentRebufferMs = if (rebufferStartedAtMs != 0L) nowMs - rebufferStartedAtMs else 0L
+        val totalRebufferMs = rebufferDurationMs + currentRebufferMs
+        val watchedMs = playingTimeMs + totalRebufferMs
+        var bitrateTimeProduct = 0.0
+        val renditions = StringBuilder()
+        for ((bitrate, timeMs) in renditionTimeMs) {
+            bitrateTimeProduct += bitrate.toDouble() * timeMs
+            if (renditions.isNotEmpty()) {
+                renditions.append(", ")
+            }
+            renditions.append("\"").append(bitrate).append("\": ").append(timeMs)
+        }
+        return "{ \"reason\": \"$reason\", " +
+                "\"sessionDurationMs\": ${if (sessionStartedAtMs != 0L) nowMs - sessionStartedAtMs else 0L}, " +
+                "\"timeToReadyMs\": $timeToReadyMs, " +
+                "\"playingTimeMs\": $playingTimeMs, " +
+                "\"rebufferCount\": $rebufferCount, " +
+                "\"rebufferDurationMs\": $totalRebufferMs, " +
+                "\"rebufferRatio\": ${if (watchedMs > 0) totalRebufferMs.toDouble() / watchedMs else 0.0}, " +
+                "\"bitrateSwitches\": $bitrateSwitches, " +
+                "\"averageVideoBitrate\": ${if (playingTimeMs > 0) (bitrateTimeProduct / playingTimeMs).toLong() else 0L}, " +
+                "\"renditionTimeMs\": { $renditions }, " +
+                "\"droppedFrames\": $droppedFrames, " +
+                "\"errorCount\": $errorCount, " +
+                "\"fatalErrorCount\": $fatalErrorCount, " +
+                "\"lastErrorType\": ${if (lastErrorType != null) "\"$lastErrorType\"" else "null"}, " +
+                "\"seekCount\": $seekCount, " +
+                "\"averageSeekLatencyMs\": ${if (seekCount > 0) seekLatencyTotalMs / seekCount else 0L}, " +
+                "\"maxSeekLatencyMs\": $seekLatencyMaxMs }"
+    }
+
+    private fun setPlaying(isPlaying: Boolean) {
+        updatePlayingTime()
+        this.isPlaying = isPlaying
+        playingSinceMs = if (isPlaying) SystemClock.elapsedRealtime() else 0L
+    }
+
+    private fun updatePlayingTime() {
+        if (playingSinceMs == 0L) {
+            return
+        }
+        val nowMs = SystemClock.elapsedRealtime()
+        val elapsedMs = nowMs - playingSinceMs
+        playingTimeMs += elapsedMs
+        if (videoBitrate > 0) {
+            renditionTimeMs[videoBitrate] = (renditionTimeMs[videoBitrate] ?: 0L) + elapsedMs
+        }
+        playingSinceMs = nowMs
+    }
+
+    private fun endRebuffer(nowMs: Long) {
+        if (rebufferStartedAtMs != 0L) {
+            rebufferDurationMs += nowMs - rebufferStartedAtMs
+            rebufferStartedAtMs = 0L
+        }
+    }
+
+    private fun endSeek(nowMs: Long) {
+        if (seekStartedAtMs != 0L) {
+            val latencyMs = nowMs - seekStartedAtMs
+            seekLatencyTotalMs += latencyMs
+            seekLatencyMaxMs = maxOf(seekLatencyMaxMs, latencyMs)
+            seekStartedAtMs = 0L
+        }
+    }
+
+    companion object {
+        const val REASON_PERIODIC = "periodic"
+        const val REASON_ENDED = "ended"
+        const val REASON_MEDIA_CHANGED = "mediaChanged"
+        const val REASON_DESTROY = "destroy"
+        const val REASON_QUERY = "query" // Requested by the app with `getQoeSummary`
+    }
+}
@@ -0,0 +1,54 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+
+/**
+ * Frame rendering counters of the active player for the current render target,
+ * used to compare SurfaceView and TextureView on the same content.
+ *
+ * All the methods should be called on the main thread.
+ */
+class RenderMetrics {
+
+    var renderTarget = RENDER_TARGET_SURFACE_VIEW
+        private set
+    private var startedAtMs = SystemClock.elapsedRealtime()
+    private var renderedFrames = 0L
+    private var skippedFrames = 0L
+    private var droppedFrames = 0L
+
+    fun reset(renderTarget: String) {
+        this.renderTarget = renderTarget
+        startedAtMs = SystemClock.elapsedRealtime()
+        renderedFrames = 0L
+        skippedFrames = 0L
+        droppedFrames = 0L
+    }
+
+    /**
+     * Output buffer counters are reported once per decoder session
+     */
+    fun onOutputBufferCountUpdate(skippedOutputBufferCount: Int, renderedOutputBufferCount: Int) {
+        skippedFrames += skippedOutputBufferCount
+        renderedFrames += renderedOutputBufferCount
+    }
+
+    fun onVideoFramesDropped(droppedVideoFrames: Long) {
+        droppedFrames += droppedVideoFrames
+    }
+
+    fun toJson(): String {
+        val totalFrames = renderedFrames + droppedFrames
+        val droppedFramesRatio = if (totalFrames > 0) droppedFrames.toDouble() / totalFrames else 0.0
+        return "{ \"renderTarget\": \"$renderTarget\", \"renderedFrames\": $renderedFrames, " +
+                "\"skippedFrames\": $skippedFrames, \"droppedFrames\": $droppedFrames, " +
+                "\"droppedFramesRatio\": $droppedFramesRatio, " +
+                "\"elapsedMs\": ${SystemClock.elapsedRealtime() - startedAtMs} }"
+    }
+
+    companion object {
+        const val RENDER_TARGET_AUTO = "auto"
+        const val RENDER_TARGET_SURFACE_VIEW = "surfaceView"
+        const val RENDER_TARGET_TEXTURE_VIEW = "textureView"
+    }
+}
@@ -0,0 +1,145 @@
+package com.reactnativekalturaplayer
+
+import android.content.Context
+import android.os.Build
+import android.os.SystemClock
+import com.kaltura.playkit.PKLog
+
+/**
+ * Renditions which this device can not decode smoothly.
+ *
+ * Dropped frames are counted per rendition, by the codec and the height,
+ * against its playing time. Once the rate is above [maxDroppedFramesPerSecond]
+ * the rendition and everything above it with the same codec is blacklisted.
+ * Blacklist is persisted per device model, OS version and codec so that the
+ * next sessions do not select those renditions till it expires after [maxAgeMs].
+ *
+ * All the methods should be called on the main thread.
+ */
+class RenditionBlacklist(context: Context) {
+
+    private val log = PKLog.get(RenditionBlacklist::class.java.simpleName)
+    private val preferences = context.applicationContext.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE)
+
+    private class RenditionStats {
+        var droppedFrames = 0L
+        var playingMs = 0L
+    }
+
+    var maxDroppedFramesPerSecond = DEFAULT_MAX_DROPPED_FRAMES_PER_SECOND
+    var minObservationMs = DEFAULT_MIN_OBSERVATION_MS
+    var maxAgeMs = DEFAULT_MAX_AGE_MS
+
+    private val statsByRendition = HashMap<String, RenditionStats>()
+    private var currentCodec: String? = null
+    private var currentHeight = 0L
+    private var isCurrentLowest = true
+    private var playingSinceMs = 0L
+
+    /**
+     * Drop rate of the current rendition when it was last checked
+     */
+    var droppedFramesPerSecond = 0.0
+        private set
+
+    fun onVideoTrackChanged(codec: String?, height: Long, isLowest: Boolean) {
+        updatePlayingTime()
+        currentCodec = codec ?: CODEC_UNKNOWN
+        currentHeight = height
+        isCurrentLowest = isLowest
+    }
+
+    fun onPlayingChanged(isPlaying: Boolean) {
+        updatePlayingTime()
+        playingSinceMs = if (isPlaying) SystemClock.elapsedRealtime() else 0L
+    }
+
+    /**
+     * @return `true` if the current rendition has just been blacklisted
+     */
+    fun onVideoFramesDropped(droppedFrames: Long): Boolean {
+        val codec = currentCodec ?: return false
+        if (currentHeight <= 0) {
+            return false
+        }
+        updatePlayingTime()
+        val stats = statsByRendition.getOrPut("$codec/$currentHeight") { RenditionStats() }
+        stats.droppedFrames += droppedFrames
+        if (stats.playingMs < minObservationMs) {
+            return false
+        }
+
+        droppedFramesPerSecond = stats.droppedFrames * 1000.0 / stats.playingMs
+        // Lowest rendition has nothing to fall back to
+        if (droppedFramesPerSecond <= maxDroppedFramesPerSecond || isCurrentLowest ||
+            currentHeight >= getBlacklistedHeight(codec)) {
+            return false
+        }
+
+        log.w("Blacklisting $codec ${currentHeight}p, dropped frames per second: $droppedFramesPerSecond")
+        preferences.edit()
+            .putLong(getPreferencesKey(codec), currentHeight)
+            .putLong(getPreferencesKey(codec) + SAVED_AT_SUFFIX, System.currentTimeMillis())
+            .apply()
+        return true
+    }
+
+    /**
+     * Renditions of the codec at or above this height are blacklisted,
+     * [AbrConstraints.NO_LIMIT] if none of them is
+     */
+    fun getBlacklistedHeight(codec: String?): Long {
+        val key = getPreferencesKey(codec ?: CODEC_UNKNOWN)
+        if (!preferences.contains(key)) {
+            return AbrConstraints.NO_LIMIT
+        }
+        // Wall clock as the entry outlives the reboots, a firmware update may fix the decoder
+        val savedAtMs = preferences.getLong(key + SAVED_AT_SUFFIX, 0L)
+        val ageMs = System.currentTimeMillis() - savedAtMs
+        if (savedAtMs <= 0L || ageMs < 0L || ageMs > maxAgeMs) {
+            log.d("Blacklist of $codec has expired")
+            preferences.edit().remove(key).remove(key + SAVED_AT_SUFFIX).apply()
+            return AbrConstraints.NO_LIMIT
+        }
+        return preferences.getLong(key, AbrConstraints.NO_LIMIT)
+    }
+
+    /**
+     * Forget the session stats, e.g. a new media is loaded
+     */
+    fun resetSession() {
+        statsByRendition.clear()
+        currentCodec = null
+        currentHeight = 0L
+        playingSinceMs = 0L
+        droppedFramesPerSecond = 0.0
+    }
+
+    fun clear() {
+        resetSession()
+        preferences.edit().clear().apply()
+    }
+
+    private fun updatePlayingTime() {
+        val codec = currentCodec
+        if (playingSinceMs == 0L || codec == null) {
+            return
+        }
+        val nowMs = SystemClock.elapsedRealtime()
+        statsByRendition.getOrPut("$codec/$currentHeight") { RenditionStats() }.playingMs += nowMs - playingSinceMs
+        playingSinceMs = nowMs
+    }
+
+    private fun getPreferencesKey(codec: String): String {
+        return "${Build.MANUFACTURER}_${Build.MODEL}_${Build.VERSION.SDK_INT}_$codec"
+    }
+
+    companion object {
+        const val DEFAULT_MAX_DROPPED_FRAMES_PER_SECOND = 3.0
+        const val DEFAULT_MIN_OBSERVATION_MS = 10_000L
+        const val DEFAULT_MAX_AGE_MS = 30L * 24 * 60 * 60 * 1000
+        private const val SAVED_AT_SUFFIX = "_savedAt"
+        private const val CODEC_UNKNOWN = "unknown"
+        private const val PREFERENCES_NAME = "kaltura_player_rn_renditions"
+    }
+}
@@ -0,0 +1,122 @@
+package com.reactnativekalturaplayer
+
+import android.os.SystemClock
+import android.view.ViewGroup
+import com.kaltura.playkit.PKLog
+import com.kaltura.tvplayer.KalturaPlayer
+
+/**
+ * Muted player without any view which is prepared ahead of time
+ * and can be swapped with the active player.
+ *
+ * `this` object is used as the group for its player listeners.
+ */
+class StandbyPlayer(val key: String, val assetId: String, val player: KalturaPlayer) {
+    val createdAtMs = SystemClock.elapsedRealtime()
+    var readyAtMs = 0L
+    var isReady = false
+    var decoderLease: DecoderBudgetManager.Lease? = null
+    var bandwidthParticipant: BandwidthArbiter.Participant? = null
+
+    companion object {
+        const val STATUS_RESOLVING = "resolving"
+        const val STATUS_PREPARING = "preparing"
+        const val STATUS_READY = "ready"
+        const val STATUS_FAILED = "failed"
+    }
+}
+
+/**
+ * Keeps the standby players by key. Oldest standby player is
+ * released once [maxStandbyPlayers] is exceeded.
+ *
+ * All the methods should be called on the main thread.
+ */
+class StandbyPlayerPool {
+
+    private val log = PKLog.get(StandbyPlayerPool::class.java.simpleName)
+    private val standbyPlayers = LinkedHashMap<String, StandbyPlayer>()
+
+    var maxStandbyPlayers = DEFAULT_MAX_STANDBY_PLAYERS
+        set(value) {
+            field = value.coerceAtLeast(0)
+            trimToMaxSize()
+        }
+
+    val size: Int
+        get() = standbyPlayers.size
+
+    fun get(key: String): StandbyPlayer? {
+        return standbyPlayers[key]
+    }
+
+    fun keys(): Set<String> {
+        return HashSet(standbyPlayers.keys)
+    }
+
+    fun add(standbyPlayer: StandbyPlayer) {
+        release(standbyPlayer.key)
+        standbyPlayers[standbyPlayer.key] = standbyPlayer
+        trimToMaxSize()
+    }
+
+    /**
+     * Remove the standby player from the pool without releasing it.
+     * Caller is the owner of the player, its decoder lease and
+     * bandwidth participant afterwards.
+     */
+    fun take(key: String): StandbyPlayer? {
+        val standbyPlayer = standbyPlayers.remove(key) ?: return null
+        standbyPlayer.player.removeListeners(standbyPlayer)
+        return standbyPlayer
+    }
+
+    fun release(key: String) {
+        standbyPlayers.remove(key)?.let {
+            destroy(it)
+        }
+    }
+
+    fun releaseAll() {
+        for (standbyPlayer in standbyPlayers.values) {
+            destroy(standbyPlayer)
+        }
+        standbyPlayers.clear()
+    }
+
+    /**
+     * Release the standby players whose key starts with the given prefix
+     */
+    fun releaseAll(keyPrefix: String) {
+        for (key in keys()) {
+            if (key.startsWith(keyPrefix)) {
+                release(key)
+            }
+        }
+    }
+
+    private fun trimToMaxSize() {
+        while (standbyPlayers.size > maxStandbyPlayers) {
+            val eldestKey = standbyPlayers.keys.first()
+            log.d("Standby players limit $maxStandbyPlayers is reached, releasing $eldestKey")
+            release(eldestKey)
+        }
+    }
+
+    private fun destroy(standbyPlayer: StandbyPlayer) {
+        log.d("Releasing standby player ${standbyPlayer.key}")
+        standbyPlayer.player.removeListeners(standbyPlayer)
+        standbyPlayer.player.playerView?.let {
+            (it.parent as? ViewGroup)?.removeView(it)
+        }
+        standbyPlayer.player.destroy()
+        DecoderBudgetManager.release(standbyPlayer.decoderLease)
+        standbyPlayer.decoderLease = null
+        BandwidthArbiter.unregister(standbyPlayer.bandwidthParticipant)
+        standbyPlayer.bandwidthParticipant = null
+    }
+
+    companion object {
+        const val DEFAULT_MAX_STANDBY_PLAYERS = 2
+    }
+}
@@ -0,0 +1,121 @@
+package com.reactnativekalturaplayer
+
+/**
+ * Throughput of the loaded chunks of the active player by the track type,
+ * so that the app gets the aggregates instead of every `bytesLoaded` event.
+ *
+ * Every track type keeps the EWMA of all its samples and the percentiles
+ * of the last [windowSize] samples.
+ *
+ * All the methods should be called on the main thread.
+ */
+class ThroughputEstimator {
+
+    private class TrackTypeStats {
+        val samplesBps = ArrayDeque<Long>()
+        var ewmaBps = 0.0
+        var sampleCount = 0L
+        var totalBytes = 0L
+    }
+
+    var windowSize = DEFAULT_WINDOW_SIZE
+        set(value) {
+            field = value.coerceAtLeast(1)
+            for (stats in statsByTrackType.values) {
+                while (stats.samplesBps.size > field) {
+                    stats.samplesBps.removeFirst()
+                }
+            }
+        }
+    var ewmaWeight = DEFAULT_EWMA_WEIGHT
+        set(value) {
+            field = value.coerceIn(0.01, 1.0)
+        }
+
+    private val statsByTrackType = LinkedHashMap<String, TrackTypeStats>()
+
+    /**
+     * Samples received since the last [consumeSampleCount]
+     */
+    private var newSampleCount = 0
+
+    fun onBytesLoaded(trackType: Int, bytesLoaded: Long, loadDurationMs: Long) {
+        if (bytesLoaded < MIN_SAMPLE_BYTES || loadDurationMs <= 0) {
+            return
+        }
+
+        val sampleBps = bytesLoaded * 8 * 1000 / loadDurationMs
+        val stats = statsByTrackType.getOrPut(getTrackTypeName(trackType)) { TrackTypeStats() }
+        stats.ewmaBps = if (stats.sampleCount == 0L) {
+            sampleBps.toDouble()
+        } else {
+            ewmaWeight * sampleBps + (1 - ewmaWeight) * stats.ewmaBps
+        }
+        stats.sampleCount++
+        stats.totalBytes += bytesLoaded
+        stats.samplesBps.addLast(sampleBps)
+        if (stats.samplesBps.size > windowSize) {
+            stats.samplesBps.removeFirst()
+        }
+        newSampleCount++
+    }
+
+    /**
+     * @return number of the samples since the last call
+     */
+    fun consumeSampleCount(): Int {
+        val count = newSampleCount
+        newSampleCount = 0
+        return count
+    }
+
+    fun reset() {
+        statsByTrackType.clear()
+        newSampleCount = 0
+    }
+
+    /**
+     * `{ "video": { ewmaBps, p10Bps, p50Bps, p90Bps, samples, totalBytes }, ... }`
+     */
+    fun toJson(): String {
+        return statsByTrackType.entries.joinToString(", ", "{ ", " }") { (trackType, stats) ->
+            val sortedSamples = stats.samplesBps.sorted()
+            "\"$trackType\": { \"ewmaBps\": ${stats.ewmaBps.toLong()}, " +
+                    "\"p10Bps\": ${getPercentile(sortedSamples, 0.1)}, " +
+                    "\"p50Bps\": ${getPercentile(sortedSamples, 0.5)}, " +
+                    "\"p90Bps\": ${getPercentile(sortedSamples, 0.9)}, " +
+                    "\"samples\": ${stats.sampleCount}, \"totalBytes\": ${stats.totalBytes} }"
+        }
+    }
+
+    private fun getPercentile(sortedSamples: List<Long>, percentile: Double): Long {
+        if (sortedSamples.isEmpty()) {
+            return 0L
+        }
+        // Nearest rank
+        val rank = Math.ceil(percentile * sortedSamples.size).toInt().coerceIn(1, sortedSamples.size)
+        return sortedSamples[rank - 1]
+    }
+
+    private fun getTrackTypeName(trackType: Int): String {
+        return when (trackType) {
+            TRACK_TYPE_DEFAULT -> "default"
+            TRACK_TYPE_AUDIO -> "audio"
+            TRACK_TYPE_VIDEO -> "video"
+            TRACK_TYPE_TEXT -> "text"
+            else -> "other"
+        }
+    }
+
+    companion object {
+        const val DEFAULT_WINDOW_SIZE = 20
+        const val DEFAULT_EWMA_WEIGHT = 0.3
+        private const val MIN_SAMPLE_BYTES = 4 * 1024L
+
+        // Track types of the `bytesLoaded` event, same as ExoPlayer's `C.TRACK_TYPE_*`
+        private const val TRACK_TYPE_DEFAULT = 0 // Muxed audio and video
+        private const val TRACK_TYPE_AUDIO = 1
+        private const val TRACK_TYPE_VIDEO = 2
+        private const val TRACK_TYPE_TEXT = 3
+    }
+}
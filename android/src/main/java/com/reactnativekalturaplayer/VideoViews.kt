@@ -0,0 +1,24 @@
+package com.reactnativekalturaplayer
+
+import android.view.SurfaceView
+import android.view.TextureView
+import android.view.View
+import android.view.ViewGroup
+
+/**
+ * Video view which renders the frames of the player, the first SurfaceView
+ * or TextureView found in the given view or its descendants
+ */
+internal fun findVideoView(view: View): View? {
+    if (view is SurfaceView || view is TextureView) {
+        return view
+    }
+    if (view is ViewGroup) {
+        for (index in 0 until view.childCount) {
+            findVideoView(view.getChildAt(index))?.let {
+                return it
+            }
+        }
+    }
+    return null
+}
@@ -0,0 +1,224 @@
+package com.reactnativekalturaplayer
+
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import com.facebook.react.bridge.Promise
+import com.kaltura.playkit.PKLog
+import com.reactnativekalturaplayer.events.KalturaPlayerEvents
+import com.reactnativekalturaplayer.model.PlaylistItem
+import com.reactnativekalturaplayer.model.ZappingConfig
+
+/**
+ * Live channel zapping on top of the active player.
+ *
+ * The adjacent channels of the current channel are kept warm on muted standby
+ * players without view. Zapping to a warm channel swaps it with the active
+ * player, otherwise the channel is simply loaded on the active player.
+ * Standby players are bounded by [ZappingConfig.maxStandbyPlayers] and they are
+ * warmed only after the current channel has started playing.
+ *
+ * All the methods should be called on the main thread.
+ */
+class ZappingController(private val host: Host) {
+
+    interface Host {
+        fun loadZappingChannel(channel: PlaylistItem, promise: Promise?)
+        fun prepareZappingChannel(standbyKey: String, index: Int, channel: PlaylistItem)
+        fun getStandbyPlayer(standbyKey: String): StandbyPlayer?
+        fun promoteStandbyPlayer(standbyKey: String, promise: Promise?): Boolean
+        fun refreshStandbyPlayer(standbyKey: String)
+        fun releaseStandbyPlayers(keyPrefix: String)
+        fun releaseStandbyPlayer(standbyKey: String)
+        fun setMaxStandbyPlayers(maxStandbyPlayers: Int)
+        fun sendZappingEvent(eventName: String, payload: String)
+        fun rejectPromise(promise: Promise?, message: String)
+    }
+
+    private val log = PKLog.get(ZappingController::class.java.simpleName)
+    private val handler = Handler(Looper.getMainLooper())
+
+    private var channels: List<PlaylistItem> = emptyList()
+    private var config = ZappingConfig()
+    private var currentIndex = INDEX_UNSET
+    private var zapStartedAtMs = 0L
+    private var isWarmZap = false
+
+    private var zapCount = 0
+    private var warmZapCount = 0
+    private var totalWarmZapTimeMs = 0L
+    private var totalColdZapTimeMs = 0L
+
+    private val refreshRunnable = object : Runnable {
+        override fun run() {
+            for (standbyKey in getAdjacentStandbyKeys()) {
+                host.refreshStandbyPlayer(standbyKey)
+            }
+            scheduleRefresh()
+        }
+    }
+
+    val isActive: Boolean
+        get() = channels.isNotEmpty() && currentIndex != INDEX_UNSET
+
+    fun setChannels(channels: List<PlaylistItem>, config: ZappingConfig?) {
+        clear()
+        this.channels = channels
+        this.config = config ?: ZappingConfig()
+        host.setMaxStandbyPlayers(this.config.maxStandbyPlayers)
+    }
+
+    fun clear() {
+        handler.removeCallbacks(refreshRunnable)
+        host.releaseStandbyPlayers(STANDBY_KEY_PREFIX)
+        channels = emptyList()
+        currentIndex = INDEX_UNSET
+        zapStartedAtMs = 0L
+        zapCount = 0
+        warmZapCount = 0
+        totalWarmZapTimeMs = 0L
+        totalColdZapTimeMs = 0L
+        host.setMaxStandbyPlayers(StandbyPlayerPool.DEFAULT_MAX_STANDBY_PLAYERS)
+    }
+
+    fun zapTo(index: Int, promise: Promise?) {
+        if (index < 0 || index >= channels.size) {
+            val message = "Invalid channel index $index, channel list size is ${channels.size}"
+            log.e(message)
+            host.rejectPromise(promise, message)
+            return
+        }
+
+        zapStartedAtMs = SystemClock.elapsedRealtime()
+        val standbyKey = getStandbyKey(index)
+        isWarmZap = host.getStandbyPlayer(standbyKey)?.isReady == true
+        val isPromoted = host.promoteStandbyPlayer(standbyKey, promise)
+        if (!isPromoted) {
+            host.loadZappingChannel(channels[index], promise)
+        }
+        currentIndex = index
+
+        // Free the decoders of the channels which are not adjacent anymore,
+        // new adjacent channels are warmed once this channel is playing
+        val adjacentKeys = getAdjacentStandbyKeys()
+        for (key in channels.indices.map { getStandbyKey(it) }) {
+            if (!adjacentKeys.contains(key)) {
+                host.releaseStandbyPlayer(key)
+            }
+        }
+    }
+
+    fun zapNext(promise: Promise?) {
+        val nextIndex = getAdjacentIndex(1)
+        if (nextIndex == INDEX_UNSET) {
+            host.rejectPromise(promise, "There is no next channel")
+            return
+        }
+        zapTo(nextIndex, promise)
+    }
+
+    fun zapPrevious(promise: Promise?) {
+        val previousIndex = getAdjacentIndex(-1)
+        if (previousIndex == INDEX_UNSET) {
+            host.rejectPromise(promise, "There is no previous channel")
+            return
+        }
+        zapTo(previousIndex, promise)
+    }
+
+    /**
+     * Current channel has started playing, report the zap time
+     * and warm the adjacent channels
+     */
+    fun onPlaying() {
+        if (!isActive || zapStartedAtMs == 0L) {
+            return
+        }
+
+        val zapTimeMs = SystemClock.elapsedRealtime() - zapStartedAtMs
+        zapStartedAtMs = 0L
+        zapCount++
+        if (isWarmZap) {
+            warmZapCount++
+            totalWarmZapTimeMs += zapTimeMs
+        } else {
+            totalColdZapTimeMs += zapTimeMs
+        }
+
+        val coldZapCount = zapCount - warmZapCount
+        host.sendZappingEvent(
+            KalturaPlayerEvents.ZAPPING_CHANNEL_CHANGED,
+            "{ \"index\": $currentIndex, \"id\": \"${channels[currentIndex].id}\", " +
+                    "\"isWarm\": $isWarmZap, \"zapTimeMs\": $zapTimeMs, " +
+                    "\"zapCount\": $zapCount, \"warmZapCount\": $warmZapCount, " +
+                    "\"avgWarmZapTimeMs\": ${if (warmZapCount > 0) totalWarmZapTimeMs / warmZapCount else 0}, " +
+                    "\"avgColdZapTimeMs\": ${if (coldZapCount > 0) totalColdZapTimeMs / coldZapCount else 0} }"
+        )
+
+        warmAdjacentChannels()
+    }
+
+    private fun warmAdjacentChannels() {
+        for (offset in getAdjacentOffsets()) {
+            val index = getAdjacentIndex(offset)
+            if (index == INDEX_UNSET || index == currentIndex) {
+                continue
+            }
+            val standbyKey = getStandbyKey(index)
+            if (host.getStandbyPlayer(standbyKey) == null) {
+                log.d("Warming the channel $index")
+                host.prepareZappingChannel(standbyKey, index, channels[index])
+            }
+        }
+        scheduleRefresh()
+    }
+
+    private fun scheduleRefresh() {
+        handler.removeCallbacks(refreshRunnable)
+        if (isActive && config.standbyRefreshIntervalSec > 0) {
+            handler.postDelayed(refreshRunnable, config.standbyRefreshIntervalSec * 1000L)
+        }
+    }
+
+    /**
+     * Offsets ordered by the priority: +1, -1, +2, -2...
+     * Number of offsets is bounded by the standby players budget.
+     */
+    private fun getAdjacentOffsets(): List<Int> {
+        val offsets = ArrayList<Int>()
+        for (distance in 1..config.adjacentChannels) {
+            offsets.add(distance)
+            offsets.add(-distance)
+        }
+        return offsets.take(config.maxStandbyPlayers.coerceAtLeast(0))
+    }
+
+    private fun getAdjacentStandbyKeys(): Set<String> {
+        return getAdjacentOffsets()
+            .map { getAdjacentIndex(it) }
+            .filter { it != INDEX_UNSET && it != currentIndex }
+            .map { getStandbyKey(it) }
+            .toSet()
+    }
+
+    private fun getAdjacentIndex(offset: Int): Int {
+        if (currentIndex == INDEX_UNSET) {
+            return INDEX_UNSET
+        }
+        val index = currentIndex + offset
+        return when {
+            index in channels.indices -> index
+            config.wrapAround && channels.size > 1 -> Math.floorMod(index, channels.size)
+            else -> INDEX_UNSET
+        }
+    }
+
+    private fun getStandbyKey(index: Int): String {
+        return "$STANDBY_KEY_PREFIX$index:${channels[index].id}"
+    }
+
+    companion object {
+        const val INDEX_UNSET = -1
+        const val STANDBY_KEY_PREFIX = "zapping:"
+    }
+}
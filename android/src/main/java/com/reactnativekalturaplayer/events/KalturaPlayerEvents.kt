@@ -36,5 +36,24 @@ class KalturaPlayerEvents {
         const val ASPECT_RATIO_RESIZE_MODE_CHANGED = "surfaceAspectRationSizeModeChanged" //Send when updating the Surface Vide Aspect Ratio size mode.
         const val LOAD_TIME_RANGES = "loadedTimeRanges" // This is used in iOS
         const val DRM_INITIALIZED = "drmInitialized"
+        const val PLAYLIST_ITEM_CHANGED = "playlistItemChanged" // Sent when the native playlist has started playing an item
+        const val PLAYLIST_PRELOAD_STATUS = "playlistPreloadStatus" // Sent while the next playlist item is being preloaded
+        const val ZAPPING_CHANNEL_CHANGED = "zappingChannelChanged" // Sent when the zapped channel has started playing
+        const val ZAPPING_STANDBY_STATUS = "zappingStandbyStatus" // Sent while an adjacent channel is being warmed
+        const val ANGLE_CHANGED = "angleChanged" // Sent when the switched angle has started playing
+        const val ANGLE_STANDBY_STATUS = "angleStandbyStatus" // Sent while an alternative angle is being prepared
+        const val DECODER_THROTTLED = "decoderThrottled" // Sent when a lower priority player is released or denied due to the decoder budget
+        const val FEED_PREVIEW_STATUS = "feedPreviewStatus" // Sent while a feed preview is being started
+        const val PLAYER_VISIBILITY_CHANGED = "playerVisibilityChanged" // Sent when the player view is scrolled off-screen or visible again
+        const val PLAYER_VIEW_ATTACHED = "playerViewAttached" // Sent when the first video frame is rendered after addPlayerView
+        const val PLAYER_SUSPEND_STATUS = "playerSuspendStatus" // Sent when the player is suspended and once it is ready after resume
+        const val MEMORY_PRESSURE = "memoryPressure" // Sent when the memory pressure tier has changed and the resources are released
+        const val STARTUP_METRICS = "startupMetrics" // Sent once the player is ready after load with the time to ready and the initial quality
+        const val THROUGHPUT_ESTIMATE = "throughputEstimate" // Sent at a fixed rate with the throughput aggregates by the track type
+        const val NETWORK_RECOVERY = "networkRecovery" // Sent when the network is lost and while the player is recovered after it is back
+        const val DEVICE_STATE_QUALITY = "deviceStateQuality" // Sent when the video cap has changed due to the battery saver, thermal status or dropped frames
+        const val RENDITION_BLACKLISTED = "renditionBlacklisted" // Sent when a rendition is blacklisted for dropping too many frames
+        const val BUFFER_HEALTH = "bufferHealth" // Sent at a low rate with the buffer ahead, its fill and drain rates and the predicted stall
+        const val QOE_SUMMARY = "qoeSummary" // Sent at a fixed rate during the session and when it ends with the session QoE summary
     }
 }
@@ -20,6 +20,11 @@ public class BasicMediaAsset {
    List<PKExternalSubtitle> externalSubtitleList;
    String externalVttThumbnailUrl;
    private long startPosition;
+   private String bufferProfile; // Named buffer profile, selected automatically if not set
+
+   public String getBufferProfile() {
+      return bufferProfile;
+   }
 
    public String getId() {
       return id;
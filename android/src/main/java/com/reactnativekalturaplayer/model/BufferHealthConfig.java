@@ -0,0 +1,7 @@
+package com.reactnativekalturaplayer.model;
+
+public class BufferHealthConfig {
+    public boolean enabled = false;
+    public long stallHorizonMs = 5000; // Video is downshifted once the buffer is predicted to run out within this time
+    public long emitIntervalMs = 2000; // Minimum interval of the `bufferHealth` events
+}
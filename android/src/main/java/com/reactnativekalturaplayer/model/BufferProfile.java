@@ -0,0 +1,18 @@
+package com.reactnativekalturaplayer.model;
+
+public class BufferProfile {
+    public int minBufferMs = 15000;
+    public int maxBufferMs = 50000;
+    public int bufferForPlaybackMs = 2500; // Buffer to start or resume after a seek
+    public int bufferForPlaybackAfterRebufferMs = 5000;
+    public int backBufferDurationMs = 0;
+
+    public BufferProfile() {}
+
+    public BufferProfile(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs, int bufferForPlaybackAfterRebufferMs) {
+        this.minBufferMs = minBufferMs;
+        this.maxBufferMs = maxBufferMs;
+        this.bufferForPlaybackMs = bufferForPlaybackMs;
+        this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+    }
+}
@@ -0,0 +1,12 @@
+package com.reactnativekalturaplayer.model;
+
+public class FeedPreviewConfig {
+    public int maxPreviewPlayers = 2; // Oldest preview is released once exceeded
+    public long maxVideoHeight = 360; // Small ladder rung for the previews
+    public long maxVideoBitrate = 800_000;
+    public int minBufferMs = 1000;
+    public int maxBufferMs = 4000;
+    public int bufferForPlaybackMs = 250;
+    public boolean includeAnalyticsPlugins = false; // Enable if the analytics should be reported after the hand off to full mode
+    public boolean loop = true;
+}
@@ -0,0 +1,7 @@
+package com.reactnativekalturaplayer.model;
+
+public class FrameSnapshotConfig {
+    public boolean enabled = false;
+    public int maxBytes = 1024 * 1024; // Memory budget of the snapshot bitmap, frame is downscaled to fit
+    public long maxHoldMs = 5000; // Snapshot is hidden after this even if the player has not rendered yet
+}
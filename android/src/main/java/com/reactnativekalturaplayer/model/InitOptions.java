@@ -59,4 +59,5 @@ public class InitOptions {
     public PKRequestParams.Adapter contentRequestAdapter;
     public PKRequestParams.Adapter licenseRequestAdapter;
     public DRMSettings drmSettings;
+    public String renderTarget; // `auto`, `surfaceView` or `textureView`, player default is `surfaceView`
 }
@@ -39,6 +39,7 @@ public class MediaAsset {
 
     private long startPosition;
     private Float initialVolume = 1.0f;
+    private String bufferProfile; // Named buffer profile, selected automatically if not set
 
     private String getKs() {
         return ks;
@@ -64,6 +65,10 @@ public class MediaAsset {
         return adapterData;
     }
 
+    public String getBufferProfile() {
+        return bufferProfile;
+    }
+
     public long getStartPosition() {
         return startPosition;
     }
@@ -184,6 +189,18 @@ public class MediaAsset {
         return null;
     }
 
+    /**
+     * Key for the media entry cache. Only the params which are
+     * sent to the provider are used, playback params like
+     * `startPosition` or `initialVolume` are ignored. KS is a part of
+     * the key as the entry is resolved with its entitlements.
+     */
+    public String getMediaEntryCacheKey(String assetId, String playerKS) {
+        return assetId + "|" + (ks != null ? ks : playerKS) + "|" + format + "|" + fileId + "|" + assetType + "|" + playbackContextType +
+                "|" + assetReferenceType + "|" + protocol + "|" + urlType + "|" + streamerType +
+                "|" + adapterData + "|" + referrer + "|" + redirectFromEntryId + "|" + useApiCaptions;
+    }
+
     public OTTMediaOptions buildOttMediaOptions(String assetId, String playerKS) {
 
         OTTMediaAsset ottMediaAsset = new OTTMediaAsset();
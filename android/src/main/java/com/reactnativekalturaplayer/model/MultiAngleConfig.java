@@ -0,0 +1,15 @@
+package com.reactnativekalturaplayer.model;
+
+public class MultiAngleConfig {
+    public static final String SYNC_MODE_MEDIA_TIME = "mediaTime";
+    public static final String SYNC_MODE_PROGRAM_TIME = "programTime";
+
+    public int maxHotAngles = 1; // Number of alternative angles kept prepared on the standby players
+    public String syncMode = SYNC_MODE_MEDIA_TIME; // `mediaTime` or `programTime` for the live streams with different timelines
+    public int syncIntervalMs = 1000; // How often the hot angles are synced to the main playhead
+    public int syncToleranceMs = 300; // Playback rate of the hot angle is corrected only if it is off by more than this
+
+    public boolean isProgramTimeSync() {
+        return SYNC_MODE_PROGRAM_TIME.equals(syncMode);
+    }
+}
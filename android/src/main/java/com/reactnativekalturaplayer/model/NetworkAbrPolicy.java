@@ -0,0 +1,16 @@
+package com.reactnativekalturaplayer.model;
+
+public class NetworkAbrPolicy {
+    public boolean enabled = false;
+    // Any metered network, e.g. limited mobile data or a hotspot
+    public long meteredMaxVideoBitrate = 1_200_000L;
+    public long meteredMaxVideoHeight = 540L;
+    public int meteredMaxAudioBitrate = 96_000;
+    public int meteredMaxBufferMs = 20000;
+    // Unmetered cellular network
+    public long cellularMaxVideoBitrate = 2_500_000L;
+    public long cellularMaxVideoHeight = 720L;
+    public int cellularMaxAudioBitrate = 128_000;
+    public int cellularMaxBufferMs = 30000;
+    // Unmetered Wi-Fi and Ethernet get the full ladder
+}
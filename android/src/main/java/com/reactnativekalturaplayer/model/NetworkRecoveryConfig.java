@@ -0,0 +1,7 @@
+package com.reactnativekalturaplayer.model;
+
+public class NetworkRecoveryConfig {
+    public boolean enabled = false;
+    public int maxRetries = 3; // Retries after the network is back, `NETWORK_RECOVERY` event is sent with `failed` after them
+    public int retryDelayMs = 1000; // Delay before checking the retry, doubled for every next retry
+}
@@ -0,0 +1,12 @@
+package com.reactnativekalturaplayer.model;
+
+public class OffscreenConfig {
+    public static final String MODE_NONE = "none";
+    public static final String MODE_PAUSE_RENDERING = "pauseRendering";
+    public static final String MODE_AUDIO_ONLY = "audioOnly";
+    public static final String MODE_SUSPEND = "suspend";
+
+    public String mode = MODE_NONE; // `none`, `pauseRendering`, `audioOnly` or `suspend`
+    public float minVisibleRatio = 0f; // Player is off-screen once less than this ratio of its area is visible
+    public int hiddenDelayMs = 500; // Off-screen mode is applied only if the player is not visible for this long
+}
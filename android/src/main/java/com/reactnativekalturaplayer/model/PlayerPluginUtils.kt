@@ -19,6 +19,21 @@ class RegisteredPlugins {
     var kava: JsonObject? = null
     var ottAnalytics: JsonObject? = null
     var broadpeak: JsonObject? = null
+
+    /**
+     * Plugins for the players which are not visible to the user,
+     * Ad plugins are always removed
+     */
+    fun withoutAdPlugins(includeAnalyticsPlugins: Boolean): RegisteredPlugins {
+        val plugins = RegisteredPlugins()
+        plugins.broadpeak = broadpeak
+        if (includeAnalyticsPlugins) {
+            plugins.youbora = youbora
+            plugins.kava = kava
+            plugins.ottAnalytics = ottAnalytics
+        }
+        return plugins
+    }
 }
 
 class Constants {
@@ -0,0 +1,8 @@
+package com.reactnativekalturaplayer.model;
+
+public class PlaylistConfig {
+    public boolean autoAdvance = true;
+    public boolean loop = false;
+    public int preloadBeforeEndSec = 10; // Seconds before the end of the current item when the next item is preloaded
+    public boolean preloadWithAnalyticsPlugins = true;
+}
@@ -0,0 +1,16 @@
+package com.reactnativekalturaplayer.model;
+
+import com.google.gson.JsonObject;
+
+/**
+ * Item of the native playlist or the zapping channel list. `id` is the same
+ * as the `assetId` for `load` and `mediaAsset` is the Media Asset JSON.
+ */
+public class PlaylistItem {
+    public String id;
+    public JsonObject mediaAsset;
+
+    public String getMediaAssetJson() {
+        return mediaAsset != null ? mediaAsset.toString() : null;
+    }
+}
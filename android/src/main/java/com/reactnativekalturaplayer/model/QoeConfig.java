@@ -0,0 +1,6 @@
+package com.reactnativekalturaplayer.model;
+
+public class QoeConfig {
+    public boolean enabled = true; // `QOE_SUMMARY` is sent at all
+    public int emitIntervalMs = 30000; // Periodic `QOE_SUMMARY` interval during the session, `0` sends it only when the session ends
+}
@@ -0,0 +1,8 @@
+package com.reactnativekalturaplayer.model;
+
+public class RenditionBlacklistConfig {
+    public boolean enabled = false;
+    public double maxDroppedFramesPerSecond = 3.0; // Rendition is blacklisted above this rate of dropped frames
+    public long minObservationMs = 10000; // Playing time of the rendition before its rate is checked
+    public long maxAgeMs = 2592000000L; // Persisted blacklist expires after this time, 30 days
+}
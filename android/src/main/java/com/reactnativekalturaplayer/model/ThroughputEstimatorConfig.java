@@ -0,0 +1,8 @@
+package com.reactnativekalturaplayer.model;
+
+public class ThroughputEstimatorConfig {
+    public int emitIntervalMs = 5000; // `THROUGHPUT_ESTIMATE` is sent at most at this interval, `0` disables it
+    public int windowSize = 20; // Samples per track type used for the percentiles
+    public double ewmaWeight = 0.3; // Weight of the newest sample
+    public boolean forwardBytesLoaded = true; // Send every raw `BYTES_LOADED` event as well
+}
@@ -0,0 +1,8 @@
+package com.reactnativekalturaplayer.model;
+
+public class ZappingConfig {
+    public int adjacentChannels = 1; // Number of channels warmed on each side of the current channel
+    public int maxStandbyPlayers = 2; // Memory and decoder budget, adjacent channels are limited by it
+    public boolean wrapAround = true;
+    public int standbyRefreshIntervalSec = 20; // Standby players are moved back to the live edge periodically, 0 disables it
+}
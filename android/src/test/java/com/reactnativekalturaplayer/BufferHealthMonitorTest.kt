@@ -0,0 +1,97 @@
+package com.reactnativekalturaplayer
+
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+
+class BufferHealthMonitorTest {
+
+    private val caps = ArrayList<Long>()
+    private var nowMs = 100_000L
+    private var positionMs = 0L
+    private lateinit var monitor: BufferHealthMonitor
+
+    @Before
+    fun setUp() {
+        monitor = BufferHealthMonitor(object : BufferHealthMonitor.Host {
+            override fun onBufferHealthCapChanged(maxVideoBitrate: Long) {
+                caps.add(maxVideoBitrate)
+            }
+
+            override fun sendBufferHealthEvent(payload: String) {}
+        }) { nowMs }
+        // Short form buffers, `minBufferMs` is below the stall horizon
+        monitor.setPlayerBuffers(MIN_BUFFER_MS, MAX_BUFFER_MS)
+        monitor.currentVideoBitrate = VIDEO_BITRATE
+    }
+
+    @Test
+    fun idleLoaderAboveMinBufferIsNotAStall() {
+        var bufferPositionMs = MAX_BUFFER_MS
+        var isLoading = false
+        var tick = 0
+        repeat(120) {
+            if (bufferPositionMs - positionMs < MIN_BUFFER_MS) {
+                isLoading = true
+            }
+            // Segment of 2 seconds is loaded every second
+            if (isLoading && tick % 2 == 1) {
+                bufferPositionMs += SEGMENT_DURATION_MS
+                isLoading = bufferPositionMs - positionMs < MAX_BUFFER_MS
+            }
+            onPlayhead(bufferPositionMs)
+            assertEquals(-1L, monitor.predictedStallMs)
+            tick++
+        }
+        assertEquals(emptyList<Long>(), caps)
+    }
+
+    @Test
+    fun capIsKeptTillBufferRecoversAboveMinBuffer() {
+        positionMs = 20_000L
+        val bufferPositionMs = positionMs + 2900L
+        onPlayhead(bufferPositionMs)
+        // Loader is behind, nothing arrives while the playhead drains the buffer
+        repeat(4) {
+            onPlayhead(bufferPositionMs)
+        }
+        assertEquals(listOf(1_200_000L), caps)
+
+        // Above `minBufferMs` but below the recovery threshold, longer than the minimum cap duration
+        repeat(30) {
+            onPlayhead(positionMs + 5000L)
+            assertEquals(-1L, monitor.predictedStallMs)
+        }
+        assertEquals(listOf(1_200_000L), caps)
+
+        onPlayhead(positionMs + 7000L)
+        assertEquals(listOf(1_200_000L, AbrConstraints.NO_LIMIT), caps)
+    }
+
+    @Test
+    fun capIsNotLiftedBeforeMinimumDuration() {
+        positionMs = 20_000L
+        val bufferPositionMs = positionMs + 2900L
+        repeat(5) {
+            onPlayhead(bufferPositionMs)
+        }
+        assertEquals(listOf(1_200_000L), caps)
+
+        onPlayhead(positionMs + MAX_BUFFER_MS)
+        assertEquals(listOf(1_200_000L), caps)
+    }
+
+    private fun onPlayhead(bufferPositionMs: Long) {
+        nowMs += TICK_MS
+        positionMs += TICK_MS
+        monitor.onPlayheadUpdated(positionMs, bufferPositionMs)
+    }
+
+    companion object {
+        private const val MIN_BUFFER_MS = 2500L
+        private const val MAX_BUFFER_MS = 10_000L
+        private const val SEGMENT_DURATION_MS = 2000L
+        private const val VIDEO_BITRATE = 2_000_000L
+        private const val TICK_MS = 500L
+    }
+}
@@ -40,6 +40,7 @@ export {
 };
 
 const RNKalturaPlayer = requireNativeComponent('KalturaPlayerView');
+const RNKalturaPreview = requireNativeComponent('KalturaPreviewView');
 const { KalturaPlayerModule } = NativeModules;
 
 const POSITION_UNSET: number = -1;
@@ -78,6 +79,31 @@ KalturaPlayer.propTypes = {
   style: PropTypes.object,
 };
 
+interface KalturaPreviewProps {
+  previewId: string;
+  style: ViewStyle;
+}
+
+/**
+ * Container of a muted feed preview, Android only.
+ * Start the preview with {@link KalturaPlayerAPI.startPreview} using the same `previewId`.
+ */
+export class KalturaPreview extends React.Component<KalturaPreviewProps> {
+  static propTypes: {
+    previewId: string;
+    style: object;
+  };
+
+  render() {
+    return <RNKalturaPreview {...this.props} />;
+  }
+}
+
+KalturaPreview.propTypes = {
+  previewId: PropTypes.string.isRequired,
+  style: PropTypes.object,
+};
+
 export class KalturaPlayerAPI {
   /**
    * This method creates a Player instance internally (Basic, OVP/OTT Player)
@@ -135,6 +161,181 @@ export class KalturaPlayerAPI {
     return await loadMediaKalturaPlayer(id, asset);
   };
 
+  /**
+   * Resolve the media entries for the given assets in the background
+   * without creating the playback. A later {@link loadMedia} for one of
+   * these assets will use the cached media entry.
+   *
+   * Only for OVP/OTT Kaltura Player.
+   *
+   * @param ids MediaIds for Kaltura OTT Player OR EntryIds for Kaltura OVP Player
+   * @param asset Media Asset JSON String used for all the ids
+   * @returns JSON object with the `prefetched` and `failed` ids
+   */
+  static prefetchMedia = async (ids: string[], asset: string) => {
+    if (!ids || ids.length === 0) {
+      printConsoleLog(`prefetchMedia, invalid ids = ${ids}`, LogType.ERROR);
+      return;
+    }
+
+    printConsoleLog(`Prefetching the media. ids are: ${ids}`);
+    return await prefetchMediaKalturaPlayer(ids, asset);
+  };
+
+  /**
+   * Set the native playlist. The next item is preloaded on a muted
+   * standby player before the current item ends and it is switched on `ENDED`.
+   * Call {@link playPlaylistItem} to start the playlist.
+   * Calling {@link loadMedia} clears the playlist.
+   *
+   * @param items Array of `{ id: string, mediaAsset: object }`, `id` and `mediaAsset`
+   * are same as for {@link loadMedia}
+   * @param config Optional `{ autoAdvance: boolean, loop: boolean,
+   * preloadBeforeEndSec: number, preloadWithAnalyticsPlugins: boolean }`
+   */
+  static setPlaylist = (items: object[], config?: object) => {
+    if (!items || items.length === 0) {
+      printConsoleLog(`setPlaylist, invalid items = ${items}`, LogType.ERROR);
+      return;
+    }
+    printConsoleLog('Calling Native method setPlaylist()');
+    KalturaPlayerModule.setPlaylist(
+      JSON.stringify(items),
+      config ? JSON.stringify(config) : null
+    );
+  };
+
+  /**
+   * Play the playlist item at the given index
+   * @param index index of the item in the playlist
+   */
+  static playPlaylistItem = async (index: number) => {
+    printConsoleLog(`Calling Native method playPlaylistItem() index is: ${index}`);
+    return await playlistAction(() => KalturaPlayerModule.playPlaylistItem(index));
+  };
+
+  /**
+   * Play the next item of the playlist
+   */
+  static playNextPlaylistItem = async () => {
+    printConsoleLog('Calling Native method playNextPlaylistItem()');
+    return await playlistAction(() => KalturaPlayerModule.playNextPlaylistItem());
+  };
+
+  /**
+   * Play the previous item of the playlist
+   */
+  static playPreviousPlaylistItem = async () => {
+    printConsoleLog('Calling Native method playPreviousPlaylistItem()');
+    return await playlistAction(() => KalturaPlayerModule.playPreviousPlaylistItem());
+  };
+
+  /**
+   * Clear the playlist and release the preloaded item
+   */
+  static clearPlaylist = () => {
+    printConsoleLog('Calling Native method clearPlaylist()');
+    KalturaPlayerModule.clearPlaylist();
+  };
+
+  /**
+   * Set the live channel list for zapping. The adjacent channels of the
+   * current channel are kept warm on muted standby players, so zapping to them
+   * only swaps the player view. Call {@link zapToChannel} to start it.
+   * Calling {@link loadMedia} or {@link setPlaylist} clears the channel list.
+   *
+   * @param channels Array of `{ id: string, mediaAsset: object }`, `id` and `mediaAsset`
+   * are same as for {@link loadMedia}
+   * @param config Optional `{ adjacentChannels: number, maxStandbyPlayers: number,
+   * wrapAround: boolean, standbyRefreshIntervalSec: number }`
+   */
+  static setZappingChannels = (channels: object[], config?: object) => {
+    if (!channels || channels.length === 0) {
+      printConsoleLog(`setZappingChannels, invalid channels = ${channels}`, LogType.ERROR);
+      return;
+    }
+    printConsoleLog('Calling Native method setZappingChannels()');
+    KalturaPlayerModule.setZappingChannels(
+      JSON.stringify(channels),
+      config ? JSON.stringify(config) : null
+    );
+  };
+
+  /**
+   * Zap to the channel at the given index
+   * @param index index of the channel in the channel list
+   */
+  static zapToChannel = async (index: number) => {
+    printConsoleLog(`Calling Native method zapToChannel() index is: ${index}`);
+    return await playlistAction(() => KalturaPlayerModule.zapToChannel(index));
+  };
+
+  /**
+   * Zap to the next channel (channel up)
+   */
+  static zapNextChannel = async () => {
+    printConsoleLog('Calling Native method zapNextChannel()');
+    return await playlistAction(() => KalturaPlayerModule.zapNextChannel());
+  };
+
+  /**
+   * Zap to the previous channel (channel down)
+   */
+  static zapPreviousChannel = async () => {
+    printConsoleLog('Calling Native method zapPreviousChannel()');
+    return await playlistAction(() => KalturaPlayerModule.zapPreviousChannel());
+  };
+
+  /**
+   * Clear the channel list and release the warmed channels
+   */
+  static clearZappingChannels = () => {
+    printConsoleLog('Calling Native method clearZappingChannels()');
+    KalturaPlayerModule.clearZappingChannels();
+  };
+
+  /**
+   * Set the camera angles of the current event. Alternative angles are kept
+   * prepared on muted standby players and aligned to the main playhead, so
+   * switching to them only swaps the player view.
+   * Calling {@link loadMedia}, {@link setPlaylist} or {@link setZappingChannels} clears the angles.
+   *
+   * @param angles Array of `{ id: string, mediaAsset: object }`, `id` and `mediaAsset`
+   * are same as for {@link loadMedia}
+   * @param currentIndex index of the angle which is already loaded
+   * @param config Optional `{ maxHotAngles: number, syncMode: 'mediaTime' | 'programTime',
+   * syncIntervalMs: number, syncToleranceMs: number }`
+   */
+  static setAngles = (angles: object[], currentIndex: number, config?: object) => {
+    if (!angles || angles.length === 0) {
+      printConsoleLog(`setAngles, invalid angles = ${angles}`, LogType.ERROR);
+      return;
+    }
+    printConsoleLog('Calling Native method setAngles()');
+    KalturaPlayerModule.setAngles(
+      JSON.stringify(angles),
+      currentIndex,
+      config ? JSON.stringify(config) : null
+    );
+  };
+
+  /**
+   * Switch to the angle at the given index
+   * @param index index of the angle
+   */
+  static switchAngle = async (index: number) => {
+    printConsoleLog(`Calling Native method switchAngle() index is: ${index}`);
+    return await playlistAction(() => KalturaPlayerModule.switchAngle(index));
+  };
+
+  /**
+   * Clear the angles and release the prepared angles
+   */
+  static clearAngles = () => {
+    printConsoleLog('Calling Native method clearAngles()');
+    KalturaPlayerModule.clearAngles();
+  };
+
   /**
    * Adds the Native Player View to the Player if not attached
    * Ideally this API should be called after calling {@link removePlayerView}
@@ -153,6 +354,17 @@ export class KalturaPlayerAPI {
     KalturaPlayerModule.removePlayerView();
   };
 
+  /**
+   * Keep the video surface and the decoder alive on {@link removePlayerView}
+   * so {@link addPlayerView} does not re-initialize the rendering
+   *
+   * @param enabled Disabled by default
+   */
+  static setPreserveSurfaceOnDetach = (enabled: boolean) => {
+    printConsoleLog(`Calling Native method setPreserveSurfaceOnDetach() enabled is: ${enabled}`);
+    KalturaPlayerModule.setPreserveSurfaceOnDetach(enabled);
+  };
+
   /**
    * Add the listners for the Kaltura Player
    */
@@ -186,6 +398,57 @@ export class KalturaPlayerAPI {
     KalturaPlayerModule.onApplicationResumed();
   };
 
+  /**
+   * Keep playing the audio on {@link onApplicationPaused} instead of pausing the player.
+   * Video is dropped to the lowest rendition and hidden till {@link onApplicationResumed}.
+   *
+   * @param enabled Disabled by default
+   */
+  static setBackgroundAudioOnlyEnabled = (enabled: boolean) => {
+    printConsoleLog(`Calling Native method setBackgroundAudioOnlyEnabled() enabled is: ${enabled}`);
+    KalturaPlayerModule.setBackgroundAudioOnlyEnabled(enabled);
+  };
+
+  /**
+   * Release the codecs and the surface of the player but keep the media,
+   * playback position, selected tracks and the bandwidth estimate.
+   * Call {@link resume} to continue.
+   */
+  static suspend = () => {
+    printConsoleLog('Calling Native method suspend()');
+    KalturaPlayerModule.suspend();
+  };
+
+  /**
+   * Resume the player which was suspended by {@link suspend}
+   */
+  static resume = () => {
+    printConsoleLog('Calling Native method resume()');
+    KalturaPlayerModule.resume();
+  };
+
+  /**
+   * Suspend and resume the player automatically when the app goes
+   * to background and comes back to foreground
+   *
+   * @param enabled Disabled by default
+   */
+  static setAutoSuspendEnabled = (enabled: boolean) => {
+    printConsoleLog(`Calling Native method setAutoSuspendEnabled() enabled is: ${enabled}`);
+    KalturaPlayerModule.setAutoSuspendEnabled(enabled);
+  };
+
+  /**
+   * Show the last rendered frame over the player view until the player
+   * renders again after {@link onApplicationResumed} or {@link addPlayerView}
+   *
+   * @param config `{ enabled: boolean, maxBytes: number, maxHoldMs: number }`
+   */
+  static setFrameSnapshotConfig = (config: object) => {
+    printConsoleLog('Calling Native method setFrameSnapshotConfig()');
+    KalturaPlayerModule.setFrameSnapshotConfig(JSON.stringify(config));
+  };
+
   /**
    * Update Plugin Configs
    *
@@ -430,6 +693,260 @@ export class KalturaPlayerAPI {
     return await isLive();
   };
 
+  /**
+   * Cap the video size to the smallest rendition which covers the player view.
+   * Cap is lifted once the view is enlarged, e.g. on fullscreen. Enabled by default.
+   *
+   * @param enabled `false` lets the ABR select any rendition
+   */
+  static setViewSizeAbrCapEnabled = (enabled: boolean) => {
+    printConsoleLog(`Calling Native method setViewSizeAbrCapEnabled() enabled is: ${enabled}`);
+    KalturaPlayerModule.setViewSizeAbrCapEnabled(enabled);
+  };
+
+  /**
+   * Configure what happens with the player once its view is scrolled off-screen,
+   * clipped by its parents or set to zero size. It is restored once the view is
+   * visible again. Views drawn on top of it are not detected.
+   *
+   * @param config `{ mode: 'none' | 'pauseRendering' | 'audioOnly' | 'suspend',
+   * minVisibleRatio: number, hiddenDelayMs: number }`
+   */
+  static setOffscreenConfig = (config: object) => {
+    printConsoleLog('Calling Native method setOffscreenConfig()');
+    KalturaPlayerModule.setOffscreenConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Override the named buffer profiles `vod`, `live`, `dvrLive`, `shortForm` and `lowMemory`
+   * @param profiles `{ [name: string]: { minBufferMs: number, maxBufferMs: number,
+   * bufferForPlaybackMs: number, bufferForPlaybackAfterRebufferMs: number, backBufferDurationMs: number } }`
+   */
+  static setBufferProfiles = (profiles: object) => {
+    printConsoleLog('Calling Native method setBufferProfiles()');
+    KalturaPlayerModule.setBufferProfiles(JSON.stringify(profiles));
+  };
+
+  /**
+   * Configure the feed previews
+   * @param config `{ maxPreviewPlayers: number, maxVideoHeight: number, maxVideoBitrate: number,
+   * minBufferMs: number, maxBufferMs: number, bufferForPlaybackMs: number,
+   * includeAnalyticsPlugins: boolean, loop: boolean }`
+   */
+  static setFeedPreviewConfig = (config: object) => {
+    printConsoleLog('Calling Native method setFeedPreviewConfig()');
+    KalturaPlayerModule.setFeedPreviewConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Start a muted preview in the `KalturaPreview` view with the same `previewId`.
+   * Player must be set up before.
+   *
+   * @param previewId `previewId` of the `KalturaPreview` view
+   * @param assetId Media Id or Playback URL in case of Basic Player
+   * @param asset Media Asset JSON String
+   */
+  static startPreview = async (previewId: string, assetId: string, asset: string) => {
+    printConsoleLog(`Calling Native method startPreview() previewId is: ${previewId} assetId is: ${assetId}`);
+    return await playlistAction(() => KalturaPlayerModule.startPreview(previewId, assetId, asset));
+  };
+
+  /**
+   * Stop the preview and release its player
+   * @param previewId `previewId` of the `KalturaPreview` view
+   */
+  static stopPreview = (previewId: string) => {
+    printConsoleLog(`Calling Native method stopPreview() previewId is: ${previewId}`);
+    KalturaPlayerModule.stopPreview(previewId);
+  };
+
+  /**
+   * Hand off the preview to the main `KalturaPlayer` view. It keeps playing
+   * from the same position, unmuted and in full quality.
+   *
+   * @param previewId `previewId` of the `KalturaPreview` view
+   */
+  static promotePreview = async (previewId: string) => {
+    printConsoleLog(`Calling Native method promotePreview() previewId is: ${previewId}`);
+    return await playlistAction(() => KalturaPlayerModule.promotePreview(previewId));
+  };
+
+  /**
+   * Override the detected budget of the concurrent video decoders.
+   * Standby players are released or denied once the budget is used,
+   * the foreground player is always prioritized.
+   *
+   * @param maxDecoders Max concurrent decoders, `0` resets it to the detected budget
+   */
+  static setMaxDecoders = (maxDecoders: number) => {
+    printConsoleLog(`Calling Native method setMaxDecoders() maxDecoders is: ${maxDecoders}`);
+    KalturaPlayerModule.setMaxDecoders(maxDecoders);
+  };
+
+  /**
+   * Share of the measured throughput which is left for the foreground player.
+   * The rest is split between the standby and preview players which are capped
+   * through the ABR settings. Default is `0.75`.
+   *
+   * @param share between `0` and `1`
+   */
+  static setForegroundBandwidthShare = (share: number) => {
+    if (share < 0 || share > 1) {
+      printConsoleLog(`Invalid share = ${share}`, LogType.ERROR);
+      return;
+    }
+    printConsoleLog(`Calling Native method setForegroundBandwidthShare() share is: ${share}`);
+    KalturaPlayerModule.setForegroundBandwidthShare(share);
+  };
+
+  /**
+   * Switch the render target of the player. Current media is reloaded
+   * at the same position if the render target has changed.
+   *
+   * @param renderTarget `surfaceView`, `textureView` or `auto`
+   * @returns Selected render target
+   */
+  static setRenderTarget = async (renderTarget: string) => {
+    printConsoleLog(`Calling Native method setRenderTarget() renderTarget is: ${renderTarget}`);
+    return await playlistAction(() => KalturaPlayerModule.setRenderTarget(renderTarget));
+  };
+
+  /**
+   * Get the frame rendering counters of the current render target
+   * @returns `{ renderTarget: string, renderedFrames: number, skippedFrames: number,
+   * droppedFrames: number, droppedFramesRatio: number, elapsedMs: number }` JSON
+   */
+  static getRenderMetrics = async () => {
+    printConsoleLog('Calling Native method getRenderMetrics');
+    return await getRenderMetrics();
+  };
+
+  /**
+   * Get the measure and layout pass counters of the native player view
+   * @returns `{ performedLayoutPasses: number, skippedLayoutPasses: number }` JSON
+   */
+  static getLayoutPassStats = async () => {
+    printConsoleLog('Calling Native method getLayoutPassStats');
+    return await getLayoutPassStats();
+  };
+
+  /**
+   * Get the memory usage of the player and its native helpers
+   * @returns `{ memoryTier: number, javaHeapUsedBytes: number, javaHeapMaxBytes: number,
+   * nativeHeapAllocatedBytes: number, mediaEntryCacheEntries: number, standbyPlayers: number,
+   * previewPlayers: number, frameSnapshotBytes: number }` JSON
+   */
+  static getMemoryUsage = async () => {
+    printConsoleLog('Calling Native method getMemoryUsage');
+    return await getMemoryUsage();
+  };
+
+  /**
+   * Get the throughput of the loaded chunks of the active player by the track type
+   * @returns `{ [trackType: string]: { ewmaBps: number, p10Bps: number, p50Bps: number,
+   * p90Bps: number, samples: number, totalBytes: number } }` JSON
+   */
+  static getThroughputEstimate = async () => {
+    printConsoleLog('Calling Native method getThroughputEstimate');
+    return await getThroughputEstimate();
+  };
+
+  /**
+   * Cap the video and audio bitrate and the buffers by the current transport.
+   * Policy is applied natively once the network changes.
+   *
+   * @param policy `{ enabled: boolean, meteredMaxVideoBitrate: number, meteredMaxVideoHeight: number,
+   * meteredMaxAudioBitrate: number, meteredMaxBufferMs: number, cellularMaxVideoBitrate: number,
+   * cellularMaxVideoHeight: number, cellularMaxAudioBitrate: number, cellularMaxBufferMs: number }`
+   */
+  static setNetworkAbrPolicy = (policy: object) => {
+    printConsoleLog('Calling Native method setNetworkAbrPolicy()');
+    KalturaPlayerModule.setNetworkAbrPolicy(JSON.stringify(policy));
+  };
+
+  /**
+   * Configure the recovery of the player once the network is back after a loss
+   * @param config `{ enabled: boolean, maxRetries: number, retryDelayMs: number }`
+   */
+  static setNetworkRecoveryConfig = (config: object) => {
+    printConsoleLog('Calling Native method setNetworkRecoveryConfig()');
+    KalturaPlayerModule.setNetworkRecoveryConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Cap the video progressively on battery saver, thermal throttling and dropped frames.
+   * It is enabled by default.
+   *
+   * @param enabled `false` removes the caps
+   */
+  static setDeviceStateGovernorEnabled = (enabled: boolean) => {
+    printConsoleLog(`Calling Native method setDeviceStateGovernorEnabled() enabled is: ${enabled}`);
+    KalturaPlayerModule.setDeviceStateGovernorEnabled(enabled);
+  };
+
+  /**
+   * Configure the blacklist of the renditions which drop too many frames on this device
+   * @param config `{ enabled: boolean, maxDroppedFramesPerSecond: number, minObservationMs: number, maxAgeMs: number }`
+   */
+  static setRenditionBlacklistConfig = (config: object) => {
+    printConsoleLog('Calling Native method setRenditionBlacklistConfig()');
+    KalturaPlayerModule.setRenditionBlacklistConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Forget the persisted rendition blacklist of this device
+   */
+  static clearRenditionBlacklist = () => {
+    printConsoleLog('Calling Native method clearRenditionBlacklist()');
+    KalturaPlayerModule.clearRenditionBlacklist();
+  };
+
+  /**
+   * Configure the stall prediction from the buffer health
+   * @param config `{ enabled: boolean, stallHorizonMs: number, emitIntervalMs: number }`
+   */
+  static setBufferHealthConfig = (config: object) => {
+    printConsoleLog('Calling Native method setBufferHealthConfig()');
+    KalturaPlayerModule.setBufferHealthConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Configure the session QoE summaries sent as `QOE_SUMMARY` event
+   * @param config `{ enabled: boolean, emitIntervalMs: number }`
+   */
+  static setQoeConfig = (config: object) => {
+    printConsoleLog('Calling Native method setQoeConfig()');
+    KalturaPlayerModule.setQoeConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Get the QoE summary of the current playback session
+   * @returns `QOE_SUMMARY` event payload JSON
+   */
+  static getQoeSummary = async () => {
+    printConsoleLog('Calling Native method getQoeSummary');
+    return await getQoeSummary();
+  };
+
+  /**
+   * Configure the throughput aggregates sent as `THROUGHPUT_ESTIMATE` event
+   * @param config `{ emitIntervalMs: number, windowSize: number, ewmaWeight: number,
+   * forwardBytesLoaded: boolean }`
+   */
+  static setThroughputEstimatorConfig = (config: object) => {
+    printConsoleLog('Calling Native method setThroughputEstimatorConfig()');
+    KalturaPlayerModule.setThroughputEstimatorConfig(JSON.stringify(config));
+  };
+
+  /**
+   * Get the current decoder budget
+   * @returns `{ activeDecoders: number, maxDecoders: number }` JSON
+   */
+  static getDecoderBudget = async () => {
+    printConsoleLog('Calling Native method getDecoderBudget');
+    return await getDecoderBudget();
+  };
+
   /**
    * Get the Information for a thumbnail image by position.
    *
@@ -508,6 +1025,31 @@ async function loadMediaKalturaPlayer(id: string, asset: string) {
   }
 }
 
+async function prefetchMediaKalturaPlayer(ids: string[], asset: string) {
+  try {
+    const prefetchResult = await KalturaPlayerModule.prefetchMedia(ids, asset);
+    printConsoleLog(`Media prefetched ${prefetchResult}`);
+    return prefetchResult;
+  } catch (exception) {
+    printConsoleLog(
+      `prefetchMediaKalturaPlayer Exception: ${exception}`,
+      LogType.ERROR
+    );
+    return Promise.reject(exception);
+  }
+}
+
+async function playlistAction(action: () => Promise<any>) {
+  try {
+    const playlistItem = await action();
+    printConsoleLog(`Playlist item loaded ${playlistItem}`);
+    return playlistItem;
+  } catch (exception) {
+    printConsoleLog(`playlistAction Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
 async function getCurrentPosition() {
   try {
     const currentPosition = await KalturaPlayerModule.getCurrentPosition();
@@ -541,6 +1083,72 @@ async function isLive() {
   }
 }
 
+async function getDecoderBudget() {
+  try {
+    const decoderBudget = await KalturaPlayerModule.getDecoderBudget();
+    printConsoleLog(`getDecoderBudget ${decoderBudget}`);
+    return decoderBudget;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
+async function getThroughputEstimate() {
+  try {
+    const throughputEstimate = await KalturaPlayerModule.getThroughputEstimate();
+    printConsoleLog(`getThroughputEstimate ${throughputEstimate}`);
+    return throughputEstimate;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
+async function getQoeSummary() {
+  try {
+    const qoeSummary = await KalturaPlayerModule.getQoeSummary();
+    printConsoleLog(`getQoeSummary ${qoeSummary}`);
+    return qoeSummary;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
+async function getMemoryUsage() {
+  try {
+    const memoryUsage = await KalturaPlayerModule.getMemoryUsage();
+    printConsoleLog(`getMemoryUsage ${memoryUsage}`);
+    return memoryUsage;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
+async function getRenderMetrics() {
+  try {
+    const renderMetrics = await KalturaPlayerModule.getRenderMetrics();
+    printConsoleLog(`getRenderMetrics ${renderMetrics}`);
+    return renderMetrics;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
+async function getLayoutPassStats() {
+  try {
+    const layoutPassStats = await KalturaPlayerModule.getLayoutPassStats();
+    printConsoleLog(`getLayoutPassStats ${layoutPassStats}`);
+    return layoutPassStats;
+  } catch (exception) {
+    printConsoleLog(`Exception: ${exception}`, LogType.ERROR);
+    return Promise.reject(exception);
+  }
+}
+
 async function getThumbnailInfo(position: number) {
   try {
     const thumbnailInfo = await KalturaPlayerModule.requestThumbnailInfo(position);